@@ -0,0 +1,563 @@
+package com.gillodaby.betterinfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Acknowledged players live in a memory-mapped, sorted snapshot plus an append-only journal.
+ * Each compaction writes a new acknowledged.N.bin generation instead of replacing the mapped
+ * file, which Windows refuses while it is mapped; older generations are deleted once they can be.
+ */
+final class AcknowledgedStore {
+
+    private static final int MAGIC = 0x4249414B;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 24;
+    private static final int RECORD_BYTES = 16;
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final Path dataDir;
+    private final Path legacySnapshotPath;
+    private final Path journalPath;
+    private final Path compactingJournalPath;
+    private final Path legacyPath;
+    private final Object journalLock = new Object();
+    private final Object compactLock = new Object();
+    private final Queue<UUID> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final List<Path> retired = new ArrayList<>();
+    private Path snapshotPath;
+    private long generation;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile UuidSet recent = new UuidSet();
+    private volatile UuidSet frozen;
+    private FileChannel journal;
+    private int journalEntries;
+    private volatile boolean legacyPending;
+
+    AcknowledgedStore(Path dataDir) {
+        this.dataDir = dataDir;
+        this.legacySnapshotPath = dataDir.resolve("acknowledged.bin");
+        this.journalPath = dataDir.resolve("acknowledged.journal");
+        this.compactingJournalPath = dataDir.resolve("acknowledged.journal.old");
+        this.legacyPath = dataDir.resolve("acknowledged.txt");
+    }
+
+    void load() {
+        synchronized (compactLock) {
+            loadNewestGeneration();
+        }
+        if (Files.exists(legacyPath)) {
+            readInto(legacyPath);
+            legacyPending = true;
+        }
+        synchronized (journalLock) {
+            journalEntries = readInto(compactingJournalPath) + readInto(journalPath);
+        }
+        if (legacyPending) {
+            compact();
+        }
+    }
+
+    boolean contains(UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if (recent.contains(msb, lsb)) {
+            return true;
+        }
+        UuidSet compacting = frozen;
+        return (compacting != null && compacting.contains(msb, lsb)) || snapshot.contains(msb, lsb);
+    }
+
+    boolean add(UUID id) {
+        synchronized (this) {
+            if (contains(id) || !recent.add(id)) {
+                return false;
+            }
+        }
+        pending.offer(id);
+        pendingCount.incrementAndGet();
+        return true;
+    }
+
+    int size() {
+        UuidSet compacting = frozen;
+        return snapshot.count + recent.size() + (compacting != null ? compacting.size() : 0);
+    }
+
+    int pendingCount() {
+        return pendingCount.get();
+    }
+
+    int journalEntries() {
+        synchronized (journalLock) {
+            return journalEntries;
+        }
+    }
+
+    void flush() {
+        synchronized (journalLock) {
+            flushLocked();
+        }
+    }
+
+    void compact() {
+        synchronized (compactLock) {
+            synchronized (journalLock) {
+                flushLocked();
+                if (journalEntries == 0 && !legacyPending && !Files.exists(compactingJournalPath) && snapshotPath != null) {
+                    return;
+                }
+                if (!rotateJournal()) {
+                    return;
+                }
+            }
+            UuidSet compacting;
+            synchronized (this) {
+                compacting = recent;
+                frozen = compacting;
+                recent = new UuidSet();
+            }
+            long next = generation + 1;
+            Path target = generationPath(next);
+            Path temp = dataDir.resolve("acknowledged." + next + ".tmp");
+            try {
+                Files.createDirectories(dataDir);
+                writeMerged(temp, snapshot, sorted(compacting));
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                Snapshot mapped = Snapshot.map(target);
+                if (mapped == Snapshot.EMPTY) {
+                    Files.deleteIfExists(target);
+                    throw new IOException("could not map " + target.getFileName());
+                }
+                synchronized (this) {
+                    snapshot = mapped;
+                    frozen = null;
+                }
+                if (snapshotPath != null) {
+                    retired.add(snapshotPath);
+                }
+                snapshotPath = target;
+                generation = next;
+                Files.deleteIfExists(compactingJournalPath);
+                if (legacyPending) {
+                    Files.deleteIfExists(legacyPath);
+                    legacyPending = false;
+                }
+                deleteRetired();
+            } catch (IOException e) {
+                System.out.println("[BetterInfo] Could not compact acknowledged players: " + e.getMessage());
+                synchronized (this) {
+                    long[] packed = compacting.snapshot();
+                    for (int i = 0; i < packed.length; i += 2) {
+                        recent.add(packed[i], packed[i + 1]);
+                    }
+                    frozen = null;
+                }
+            }
+        }
+    }
+
+    void close() {
+        compact();
+        synchronized (journalLock) {
+            flushLocked();
+            closeJournal();
+        }
+    }
+
+    /**
+     * Maps the newest generation that reads back cleanly, treating a pre-generation acknowledged.bin
+     * as generation 0, and retires everything older.
+     */
+    private void loadNewestGeneration() {
+        List<Long> found = new ArrayList<>();
+        if (Files.isDirectory(dataDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dataDir, "acknowledged.*.bin")) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    try {
+                        found.add(Long.parseLong(name.substring("acknowledged.".length(), name.length() - ".bin".length())));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("[BetterInfo] Could not list acknowledged snapshots: " + e.getMessage());
+            }
+        }
+        if (Files.exists(legacySnapshotPath)) {
+            found.add(0L);
+        }
+        found.sort(null);
+        generation = found.isEmpty() ? 0 : found.get(found.size() - 1);
+        for (int i = found.size() - 1; i >= 0; i--) {
+            Path path = generationPath(found.get(i));
+            if (snapshotPath == null) {
+                Snapshot mapped = Snapshot.map(path);
+                if (mapped != Snapshot.EMPTY) {
+                    snapshot = mapped;
+                    snapshotPath = path;
+                    continue;
+                }
+            }
+            retired.add(path);
+        }
+        deleteRetired();
+    }
+
+    private Path generationPath(long gen) {
+        return gen == 0 ? legacySnapshotPath : dataDir.resolve("acknowledged." + gen + ".bin");
+    }
+
+    private void deleteRetired() {
+        retired.removeIf(path -> {
+            try {
+                Files.deleteIfExists(path);
+                return true;
+            } catch (IOException e) {
+                // Still mapped somewhere (Windows); try again after the next compaction.
+                return false;
+            }
+        });
+    }
+
+    private void flushLocked() {
+        if (pendingCount.get() == 0) {
+            return;
+        }
+        List<UUID> batch = new ArrayList<>();
+        UUID next;
+        while ((next = pending.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        pendingCount.addAndGet(-batch.size());
+        ByteBuffer records = ByteBuffer.allocate(batch.size() * 37);
+        for (UUID id : batch) {
+            records.put((id + "\n").getBytes(StandardCharsets.US_ASCII));
+        }
+        records.flip();
+        try {
+            if (journal == null) {
+                Files.createDirectories(journalPath.getParent());
+                journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            while (records.hasRemaining()) {
+                journal.write(records);
+            }
+            journalEntries += batch.size();
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not append to acknowledged.journal, will retry: " + e.getMessage());
+            closeJournal();
+            for (UUID id : batch) {
+                pending.offer(id);
+            }
+            pendingCount.addAndGet(batch.size());
+        }
+    }
+
+    private boolean rotateJournal() {
+        closeJournal();
+        try {
+            if (Files.exists(journalPath)) {
+                if (Files.exists(compactingJournalPath)) {
+                    Files.write(compactingJournalPath, Files.readAllBytes(journalPath), StandardOpenOption.APPEND);
+                    Files.delete(journalPath);
+                } else {
+                    Files.move(journalPath, compactingJournalPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            journalEntries = 0;
+            return true;
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not rotate acknowledged.journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static UUID[] sorted(UuidSet set) {
+        long[] packed = set.snapshot();
+        UUID[] ids = new UUID[packed.length / 2];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = new UUID(packed[i * 2], packed[i * 2 + 1]);
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static void writeMerged(Path path, Snapshot current, UUID[] pending) throws IOException {
+        int capacity = current.count + pending.length;
+        long[] bloom = new long[bloomWords(capacity)];
+        int bloomBytes = bloom.length * Long.BYTES;
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES + bloomBytes);
+            ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            int a = 0;
+            int b = 0;
+            long lastMsb = 0;
+            long lastLsb = 0;
+            while (a < current.count || b < pending.length) {
+                long msb;
+                long lsb;
+                int order;
+                if (a >= current.count) {
+                    order = 1;
+                } else if (b >= pending.length) {
+                    order = -1;
+                } else {
+                    order = compare(current.msb(a), current.lsb(a), pending[b].getMostSignificantBits(), pending[b].getLeastSignificantBits());
+                }
+                if (order <= 0) {
+                    msb = current.msb(a);
+                    lsb = current.lsb(a);
+                    a++;
+                    if (order == 0) {
+                        b++;
+                    }
+                } else {
+                    msb = pending[b].getMostSignificantBits();
+                    lsb = pending[b].getLeastSignificantBits();
+                    b++;
+                }
+                if (count > 0 && msb == lastMsb && lsb == lastLsb) {
+                    continue;
+                }
+                if (!out.hasRemaining()) {
+                    drain(channel, out);
+                }
+                out.putLong(msb).putLong(lsb);
+                addToBloom(bloom, msb, lsb);
+                lastMsb = msb;
+                lastLsb = lsb;
+                count++;
+            }
+            drain(channel, out);
+
+            ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES + bloomBytes);
+            head.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(count).putInt(bloom.length).putInt(BLOOM_HASHES).putInt(0);
+            for (long word : bloom) {
+                head.putLong(word);
+            }
+            head.flip();
+            channel.position(0);
+            while (head.hasRemaining()) {
+                channel.write(head);
+            }
+            channel.force(true);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private static int bloomWords(int entries) {
+        long bits = Math.max(64L, (long) entries * BLOOM_BITS_PER_ENTRY);
+        return (int) Math.min(Integer.MAX_VALUE / Long.BYTES, (bits + 63) / 64);
+    }
+
+    private static void addToBloom(long[] bloom, long msb, long lsb) {
+        long bits = (long) bloom.length * 64;
+        long h1 = hash(msb, lsb);
+        long h2 = (h1 >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private static long hash(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(lsb, 31);
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int compare(long msbA, long lsbA, long msbB, long lsbB) {
+        int order = Long.compare(msbA, msbB);
+        return order != 0 ? order : Long.compare(lsbA, lsbB);
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException ignored) {
+        }
+        journal = null;
+    }
+
+    /**
+     * Reads one UUID per line. Only complete canonical records count: a last record without its
+     * newline was cut short by a crash mid-write, so it is dropped and truncated away before the
+     * next append can run into it.
+     */
+    private int readInto(Path path) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        int count = 0;
+        try {
+            byte[] data = Files.readAllBytes(path);
+            int start = 0;
+            for (int end = 0; end < data.length; end++) {
+                if (data[end] != '\n') {
+                    continue;
+                }
+                UUID id = parseRecord(data, start, end);
+                start = end + 1;
+                if (id == null) {
+                    continue;
+                }
+                if (!snapshot.contains(id.getMostSignificantBits(), id.getLeastSignificantBits())) {
+                    recent.add(id);
+                }
+                count++;
+            }
+            if (start < data.length) {
+                System.out.println("[BetterInfo] Dropping an incomplete record at the end of " + path.getFileName());
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(start);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not read " + path.getFileName() + ": " + e.getMessage());
+        }
+        return count;
+    }
+
+    private static UUID parseRecord(byte[] data, int from, int to) {
+        while (from < to && data[from] <= ' ') {
+            from++;
+        }
+        while (to > from && data[to - 1] <= ' ') {
+            to--;
+        }
+        if (to - from != 36) {
+            return null;
+        }
+        for (int i = 0; i < 36; i++) {
+            int c = data[from + i];
+            boolean dash = i == 8 || i == 13 || i == 18 || i == 23;
+            if (dash ? c != '-' : Character.digit(c, 16) < 0) {
+                return null;
+            }
+        }
+        return UUID.fromString(new String(data, from, 36, StandardCharsets.US_ASCII));
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(null, 0, 0, 0);
+
+        private final MappedByteBuffer buffer;
+        private final int count;
+        private final int bloomWords;
+        private final int recordsOffset;
+
+        private Snapshot(MappedByteBuffer buffer, int count, int bloomWords, int recordsOffset) {
+            this.buffer = buffer;
+            this.count = count;
+            this.bloomWords = bloomWords;
+            this.recordsOffset = recordsOffset;
+        }
+
+        static Snapshot map(Path path) {
+            if (!Files.exists(path)) {
+                return EMPTY;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                    System.out.println("[BetterInfo] Ignoring " + path.getFileName() + " with unexpected size " + size);
+                    return EMPTY;
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                int count = buffer.getInt(8);
+                int words = buffer.getInt(12);
+                int recordsOffset = HEADER_BYTES + words * Long.BYTES;
+                if (buffer.getInt(0) != MAGIC
+                        || buffer.getInt(4) != FORMAT_VERSION
+                        || buffer.getInt(16) != BLOOM_HASHES
+                        || count < 0
+                        || words <= 0
+                        || recordsOffset + (long) count * RECORD_BYTES != size) {
+                    System.out.println("[BetterInfo] Ignoring malformed " + path.getFileName());
+                    return EMPTY;
+                }
+                return new Snapshot(buffer, count, words, recordsOffset);
+            } catch (IOException e) {
+                System.out.println("[BetterInfo] Could not map " + path.getFileName() + ": " + e.getMessage());
+                return EMPTY;
+            }
+        }
+
+        long msb(int index) {
+            return buffer.getLong(recordsOffset + index * RECORD_BYTES);
+        }
+
+        long lsb(int index) {
+            return buffer.getLong(recordsOffset + index * RECORD_BYTES + 8);
+        }
+
+        boolean contains(long msb, long lsb) {
+            if (count == 0 || !mightContain(msb, lsb)) {
+                return false;
+            }
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int order = compare(msb(mid), lsb(mid), msb, lsb);
+                if (order < 0) {
+                    low = mid + 1;
+                } else if (order > 0) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean mightContain(long msb, long lsb) {
+            long bits = (long) bloomWords * 64;
+            long h1 = hash(msb, lsb);
+            long h2 = (h1 >>> 32) | 1;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                long word = buffer.getLong(HEADER_BYTES + (int) (bit >>> 6) * Long.BYTES);
+                if ((word & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -2,35 +2,91 @@ package com.gillodaby.betterinfo;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 final class BetterInfoConfig {
 
-    static final int MAX_PAGES = 12;
-    static final int HARD_MAX_LINES = 50;
+    static final String FILE_NAME = "config.yaml";
+    static final String SHARD_DIR = "pages";
+    static final int DEFAULT_PAGE_COUNT = 12;
+    static final int MAX_PAGE_NUMBER = 1000;
+    static final int UI_LINE_SLOTS = 50;
     static final String DEFAULT_HEADER_HINT = "All the essentials in one place.";
     static final String DEFAULT_BUTTON_TEXT = "Thanks for the info, let's go!";
     static final String DEFAULT_FOOTER_TEXT = "You can reopen this page anytime with /info";
+    static final int DEFAULT_ACK_FLUSH_BATCH = 64;
+    static final int DEFAULT_ACK_FLUSH_INTERVAL_MS = 500;
+    static final int DEFAULT_POPUPS_PER_SECOND = 5;
+    static final int DEFAULT_POPUP_BURST = 10;
+    static final int DEFAULT_POPUP_BACKLOG = 500;
+
+    private static final String PAGE_KEY_PREFIX = "page";
+    private static final String SHARD_SUFFIX = ".yaml";
+    private static final String[] PAGE_FIELDS = {"Title", "HeaderHint", "Command", "ButtonText", "FooterText", "NextPage", "Lines"};
+    private static final int FIELD_TITLE = 0;
+    private static final int FIELD_HEADER_HINT = 1;
+    private static final int FIELD_COMMAND = 2;
+    private static final int FIELD_BUTTON_TEXT = 3;
+    private static final int FIELD_FOOTER_TEXT = 4;
+    private static final int FIELD_NEXT_PAGE = 5;
+    private static final int FIELD_LINES = 6;
+    private static final int PAGE_FIELD_BITS = 3;
+    private static final int PAGE_FIELD_MASK = (1 << PAGE_FIELD_BITS) - 1;
+    private static final int PAGE_OUT_OF_RANGE = -2;
+    private static final int UNSET_NEXT_PAGE = Integer.MIN_VALUE;
 
     private final int maxLines;
     private final List<InfoPage> pages;
     private final boolean firstJoinPopupEnabled;
     private final Path dataDir;
-
-    private BetterInfoConfig(int maxLines, List<InfoPage> pages, boolean firstJoinPopupEnabled, Path dataDir) {
+    private final int ackFlushBatch;
+    private final int ackFlushIntervalMs;
+    private final int popupsPerSecond;
+    private final int popupBurst;
+    private final int popupBacklog;
+    private final boolean shardedPages;
+    private final boolean compiled;
+
+    BetterInfoConfig(int maxLines,
+                     List<InfoPage> pages,
+                     boolean firstJoinPopupEnabled,
+                     Path dataDir,
+                     int ackFlushBatch,
+                     int ackFlushIntervalMs,
+                     int popupsPerSecond,
+                     int popupBurst,
+                     int popupBacklog,
+                     boolean shardedPages,
+                     boolean compiled) {
         this.maxLines = maxLines;
         this.pages = pages;
         this.firstJoinPopupEnabled = firstJoinPopupEnabled;
         this.dataDir = dataDir;
+        this.ackFlushBatch = ackFlushBatch;
+        this.ackFlushIntervalMs = ackFlushIntervalMs;
+        this.popupsPerSecond = popupsPerSecond;
+        this.popupBurst = popupBurst;
+        this.popupBacklog = popupBacklog;
+        this.shardedPages = shardedPages;
+        this.compiled = compiled;
     }
 
     int maxLines() {
-        return Math.max(1, Math.min(HARD_MAX_LINES, maxLines));
+        return Math.max(1, Math.min(UI_LINE_SLOTS, maxLines));
     }
 
     boolean firstJoinPopupEnabled() {
@@ -45,11 +101,39 @@ final class BetterInfoConfig {
         return dataDir;
     }
 
+    int ackFlushBatch() {
+        return Math.max(1, ackFlushBatch);
+    }
+
+    int ackFlushIntervalMs() {
+        return Math.max(10, ackFlushIntervalMs);
+    }
+
+    int popupsPerSecond() {
+        return Math.max(1, popupsPerSecond);
+    }
+
+    int popupBurst() {
+        return Math.max(1, popupBurst);
+    }
+
+    int popupBacklog() {
+        return Math.max(1, popupBacklog);
+    }
+
+    boolean shardedPages() {
+        return shardedPages;
+    }
+
+    boolean loadedFromCompiledSnapshot() {
+        return compiled;
+    }
+
     static BetterInfoConfig load(Path dataDir) {
         if (dataDir == null) {
             dataDir = Path.of("BetterInfo");
         }
-        Path configPath = dataDir.resolve("config.yaml");
+        Path configPath = dataDir.resolve(FILE_NAME);
         BetterInfoConfig defaults = defaults(dataDir);
         try {
             Files.createDirectories(configPath.getParent());
@@ -58,159 +142,95 @@ final class BetterInfoConfig {
 
         if (!Files.exists(configPath)) {
             persist(configPath, defaults);
-            return defaults;
+            if (!Files.exists(configPath)) {
+                return defaults;
+            }
         }
 
-        int maxLines = defaults.maxLines;
-        boolean firstJoinPopupEnabled = defaults.firstJoinPopupEnabled;
-        String legacyTitle = defaults.pages().get(0).title();
-        @SuppressWarnings("unchecked")
-        List<String>[] pageLines = new List[MAX_PAGES];
-        String[] pageTitles = new String[MAX_PAGES];
-        String[] pageHeaderHints = new String[MAX_PAGES];
-        String[] pageCommandCodes = new String[MAX_PAGES];
-        String[] pageButtonTexts = new String[MAX_PAGES];
-        String[] pageFooterTexts = new String[MAX_PAGES];
-        int[] pageNextPage = new int[MAX_PAGES];
-        for (int i = 0; i < MAX_PAGES; i++) {
-            InfoPage fallback = defaults.pages().get(i);
-            pageLines[i] = new ArrayList<>(fallback.lines());
-            pageTitles[i] = fallback.title();
-            pageHeaderHints[i] = fallback.headerHint();
-            pageCommandCodes[i] = fallback.commandCode();
-            pageButtonTexts[i] = fallback.buttonText();
-            pageFooterTexts[i] = fallback.footerText();
-            pageNextPage[i] = fallback.nextPageIndex();
-        }
-
-        List<String> legacyLines = new ArrayList<>();
-        boolean inLegacyLines = false;
-        int currentPageLines = -1;
-
-        try (BufferedReader reader = Files.newBufferedReader(configPath, StandardCharsets.UTF_8)) {
-            String raw;
-            while ((raw = reader.readLine()) != null) {
-                String line = raw.trim();
-                if (line.isEmpty() || line.startsWith("#")) {
-                    continue;
-                }
-                if (line.startsWith("lines:")) {
-                    inLegacyLines = true;
-                    currentPageLines = -1;
-                    continue;
-                }
-                int pageLinesIndex = parsePageLinesIndex(line);
-                if (pageLinesIndex >= 0) {
-                    inLegacyLines = false;
-                    currentPageLines = pageLinesIndex;
-                    pageLines[currentPageLines] = new ArrayList<>();
-                    continue;
-                }
-                if (inLegacyLines && line.startsWith("-")) {
-                    String value = trimQuotes(line.substring(1).trim());
-                    if (!value.isEmpty()) {
-                        legacyLines.add(value);
-                    }
-                    continue;
-                }
-                if (currentPageLines >= 0 && line.startsWith("-")) {
-                    String value = trimQuotes(line.substring(1).trim());
-                    if (!value.isEmpty()) {
-                        pageLines[currentPageLines].add(value);
-                    }
-                    continue;
-                }
-                inLegacyLines = false;
-                currentPageLines = -1;
+        CompiledConfig.Sources sources = CompiledConfig.sources(dataDir);
+        BetterInfoConfig compiled = CompiledConfig.read(dataDir, sources);
+        if (compiled != null) {
+            return compiled;
+        }
 
-                int sep = line.indexOf(':');
-                if (sep < 0) {
-                    continue;
-                }
-                String key = line.substring(0, sep).trim();
-                String value = trimQuotes(line.substring(sep + 1).trim());
-                switch (key) {
-                    case "maxLines" -> {
-                        try {
-                            maxLines = Integer.parseInt(value);
-                        } catch (NumberFormatException ignored) {
-                        }
-                    }
-                    case "firstJoinPopup" -> firstJoinPopupEnabled = parseToggleValue(value, firstJoinPopupEnabled);
-                    case "title" -> {
-                        if (!value.isEmpty()) {
-                            legacyTitle = value;
-                        }
-                    }
-                    default -> {
-                        int pageTitleIndex = parsePageTitleIndex(key);
-                        if (pageTitleIndex >= 0) {
-                            pageTitles[pageTitleIndex] = value;
-                            continue;
-                        }
-                        int headerIndex = parsePageHeaderIndex(key);
-                        if (headerIndex >= 0) {
-                            pageHeaderHints[headerIndex] = value;
-                            continue;
-                        }
-                        int commandIndex = parsePageCommandIndex(key);
-                        if (commandIndex >= 0) {
-                            pageCommandCodes[commandIndex] = value;
-                            continue;
-                        }
-                        int buttonIndex = parsePageButtonIndex(key);
-                        if (buttonIndex >= 0) {
-                            pageButtonTexts[buttonIndex] = value;
-                            continue;
-                        }
-                        int footerIndex = parsePageFooterIndex(key);
-                        if (footerIndex >= 0) {
-                            pageFooterTexts[footerIndex] = value;
-                            continue;
-                        }
-                        int nextIndex = parsePageNextIndex(key);
-                        if (nextIndex >= 0) {
-                            try {
-                                pageNextPage[nextIndex] = Integer.parseInt(value) - 1;
-                            } catch (NumberFormatException ignored) {
-                            }
-                        }
-                    }
-                }
-            }
+        ParsedConfig parsed = new ParsedConfig(defaults);
+        try {
+            parsed.read(configPath);
         } catch (IOException e) {
             System.out.println("[BetterInfo] Failed to read config.yaml, using defaults: " + e.getMessage());
             return defaults;
         }
+        if (parsed.shardedPages || !parsed.sawPageKeys) {
+            readShards(dataDir, parsed);
+        }
+        BetterInfoConfig resolved = parsed.resolve(dataDir);
+        CompiledConfig.write(dataDir, sources, resolved);
+        return resolved;
+    }
 
-        if (!legacyLines.isEmpty()) {
-            pageLines[0].clear();
-            pageLines[0].addAll(legacyLines);
+    static BetterInfoConfig readFile(Path dataDir, Path file) throws IOException {
+        ParsedConfig parsed = new ParsedConfig(defaults(dataDir));
+        parsed.read(file);
+        return parsed.resolve(dataDir);
+    }
+
+    private static void readShards(Path dataDir, ParsedConfig parsed) {
+        List<Path> files = shardFiles(dataDir);
+        ParsedConfig[] shards = new ParsedConfig[files.size()];
+        IntStream.range(0, files.size()).parallel().forEach(i -> shards[i] = readShard(files.get(i)));
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i] != null) {
+                parsed.takePage(shards[i], shardIndex(files.get(i)));
+            }
         }
-        if ((pageTitles[0] == null || pageTitles[0].isEmpty()) && legacyTitle != null) {
-            pageTitles[0] = legacyTitle;
+    }
+
+    static List<Path> shardFiles(Path dataDir) {
+        Path dir = dataDir.resolve(SHARD_DIR);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries
+                .filter(path -> shardIndex(path) >= 0 && Files.isRegularFile(path))
+                .sorted(Comparator.comparingInt(BetterInfoConfig::shardIndex))
+                .toList();
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not list " + SHARD_DIR + "/: " + e.getMessage());
+            return List.of();
         }
+    }
 
-        int cappedLines = Math.max(1, Math.min(HARD_MAX_LINES, maxLines));
-        List<InfoPage> resolved = new ArrayList<>();
-        for (int i = 0; i < MAX_PAGES; i++) {
-            List<String> lines = new ArrayList<>(pageLines[i]);
-            trimTrailingEmpty(lines);
-            String title = pageTitles[i] != null && !pageTitles[i].isEmpty() ? pageTitles[i] : "Page " + (i + 1);
-            String hint = pageHeaderHints[i] != null && !pageHeaderHints[i].isEmpty() ? pageHeaderHints[i] : DEFAULT_HEADER_HINT;
-            String code = pageCommandCodes[i] != null ? pageCommandCodes[i] : "";
-            String button = pageButtonTexts[i] != null && !pageButtonTexts[i].isEmpty() ? pageButtonTexts[i] : DEFAULT_BUTTON_TEXT;
-            String footer = pageFooterTexts[i] != null ? pageFooterTexts[i] : "";
-            int next = pageNextPage[i];
-            resolved.add(new InfoPage(title, lines, hint, code, button, footer, next));
+    static int shardIndex(Path path) {
+        String name = path.getFileName().toString();
+        int pos = PAGE_KEY_PREFIX.length();
+        int end = name.length() - SHARD_SUFFIX.length();
+        if (end <= pos || !name.startsWith(PAGE_KEY_PREFIX) || !name.endsWith(SHARD_SUFFIX) || name.charAt(pos) == '0') {
+            return -1;
+        }
+        int number = 0;
+        for (int i = pos; i < end; i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9' || number > MAX_PAGE_NUMBER / 10) {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
         }
+        return number >= 1 && number <= MAX_PAGE_NUMBER ? number - 1 : -1;
+    }
 
-        return new BetterInfoConfig(
-            cappedLines,
-            Collections.unmodifiableList(resolved),
-            firstJoinPopupEnabled,
-            dataDir
-        );
+    private static ParsedConfig readShard(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        ParsedConfig shard = new ParsedConfig(null);
+        try {
+            shard.read(path);
+            return shard;
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Failed to read " + path.getFileName() + ", keeping the config.yaml copy: " + e.getMessage());
+            return null;
+        }
     }
 
     private static BetterInfoConfig defaults(Path dataDir) {
@@ -231,10 +251,34 @@ final class BetterInfoConfig {
             "",
             -1
         ));
-        for (int i = 1; i < MAX_PAGES; i++) {
+        for (int i = 1; i < DEFAULT_PAGE_COUNT; i++) {
             pages.add(InfoPage.empty(i + 1));
         }
-        return new BetterInfoConfig(HARD_MAX_LINES, Collections.unmodifiableList(pages), true, dataDir);
+        return new BetterInfoConfig(
+            UI_LINE_SLOTS,
+            Collections.unmodifiableList(pages),
+            true,
+            dataDir,
+            DEFAULT_ACK_FLUSH_BATCH,
+            DEFAULT_ACK_FLUSH_INTERVAL_MS,
+            DEFAULT_POPUPS_PER_SECOND,
+            DEFAULT_POPUP_BURST,
+            DEFAULT_POPUP_BACKLOG,
+            false,
+            false
+        );
+    }
+
+    boolean sameSettings(BetterInfoConfig other) {
+        return other != null
+            && maxLines() == other.maxLines()
+            && firstJoinPopupEnabled == other.firstJoinPopupEnabled
+            && ackFlushBatch() == other.ackFlushBatch()
+            && ackFlushIntervalMs() == other.ackFlushIntervalMs()
+            && popupsPerSecond() == other.popupsPerSecond()
+            && popupBurst() == other.popupBurst()
+            && popupBacklog() == other.popupBacklog()
+            && shardedPages == other.shardedPages;
     }
 
     BetterInfoConfig withPages(List<InfoPage> updatedPages) {
@@ -242,154 +286,169 @@ final class BetterInfoConfig {
         if (updatedPages != null) {
             resolved.addAll(updatedPages);
         }
-        while (resolved.size() < MAX_PAGES) {
+        while (resolved.size() < DEFAULT_PAGE_COUNT) {
             resolved.add(InfoPage.empty(resolved.size() + 1));
         }
         return new BetterInfoConfig(
             maxLines,
             Collections.unmodifiableList(resolved),
             firstJoinPopupEnabled,
-            dataDir
+            dataDir,
+            ackFlushBatch,
+            ackFlushIntervalMs,
+            popupsPerSecond,
+            popupBurst,
+            popupBacklog,
+            shardedPages,
+            compiled
         );
     }
 
-    static void persist(BetterInfoConfig cfg) {
-        persist(cfg.dataDir().resolve("config.yaml"), cfg);
+    static Path path(BetterInfoConfig cfg) {
+        return cfg.dataDir().resolve(FILE_NAME);
     }
 
     private static void persist(Path path, BetterInfoConfig cfg) {
+        try {
+            write(path, render(cfg));
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not write config.yaml: " + e.getMessage());
+        }
+    }
+
+    static Path shardPath(BetterInfoConfig cfg, int pageIndex) {
+        return shardPath(cfg.dataDir(), pageIndex);
+    }
+
+    static Path shardPath(Path dataDir, int pageIndex) {
+        return dataDir.resolve(SHARD_DIR).resolve(PAGE_KEY_PREFIX + (pageIndex + 1) + SHARD_SUFFIX);
+    }
+
+    static byte[] render(BetterInfoConfig cfg) {
+        return render(cfg, !cfg.shardedPages());
+    }
+
+    static byte[] render(BetterInfoConfig cfg, boolean inlinePages) {
         List<String> lines = new ArrayList<>();
         lines.add("# BetterInfo configuration");
         lines.add("# Prefix a color segment with [#rrggbb] to apply custom colors");
         lines.add("title: \"" + escape(cfg.pages().get(0).title()) + "\"");
+        lines.add("# Info lines shown per screen (up to " + UI_LINE_SLOTS + "); longer pages get Previous/Next buttons");
         lines.add("maxLines: " + cfg.maxLines());
         lines.add("firstJoinPopup: " + (cfg.firstJoinPopupEnabled() ? "On" : "Off"));
-        for (int i = 0; i < cfg.pages().size(); i++) {
-            InfoPage page = cfg.pages().get(i);
-            lines.add("# Page " + (i + 1));
-            lines.add("page" + (i + 1) + "Title: \"" + escape(page.title()) + "\"");
-            if (!page.headerHint().isEmpty()) {
-                lines.add("page" + (i + 1) + "HeaderHint: \"" + escape(page.headerHint()) + "\"");
-            }
-            if (!page.commandCode().isEmpty()) {
-                lines.add("page" + (i + 1) + "Command: \"" + escape(page.commandCode()) + "\"");
-            }
-            if (!page.buttonText().equals(DEFAULT_BUTTON_TEXT)) {
-                lines.add("page" + (i + 1) + "ButtonText: \"" + escape(page.buttonText()) + "\"");
-            }
-            if (!page.footerText().isEmpty()) {
-                lines.add("page" + (i + 1) + "FooterText: \"" + escape(page.footerText()) + "\"");
-            }
-            if (page.nextPageIndex() >= 0) {
-                lines.add("page" + (i + 1) + "NextPage: " + (page.nextPageIndex() + 1));
-            }
-            lines.add("page" + (i + 1) + "Lines:");
-            for (String line : page.lines()) {
-                lines.add("  - \"" + escape(line) + "\"");
+        lines.add("# Acknowledged players are written to disk in batches of N or every T milliseconds");
+        lines.add("ackFlushBatch: " + cfg.ackFlushBatch());
+        lines.add("ackFlushIntervalMs: " + cfg.ackFlushIntervalMs());
+        lines.add("# First-join popups open at most popupsPerSecond (bursts of popupBurst); at most popupBacklog can wait");
+        lines.add("popupsPerSecond: " + cfg.popupsPerSecond());
+        lines.add("popupBurst: " + cfg.popupBurst());
+        lines.add("popupBacklog: " + cfg.popupBacklog());
+        lines.add("# single keeps every page below; sharded stores each page in " + SHARD_DIR + "/pageN.yaml and only rewrites edited pages");
+        lines.add("pageStorage: " + (cfg.shardedPages() ? "sharded" : "single"));
+        if (inlinePages) {
+            for (int i = 0; i < cfg.pages().size(); i++) {
+                appendPage(lines, cfg.pages().get(i), i);
             }
         }
-        persist(path, lines);
+        return toBytes(lines);
     }
 
-    private static void persist(Path path, List<String> lines) {
-        try {
-            Files.createDirectories(path.getParent());
-            Files.write(path, lines, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            System.out.println("[BetterInfo] Could not write config.yaml: " + e.getMessage());
-        }
+    static byte[] renderShard(BetterInfoConfig cfg, int pageIndex) {
+        List<String> lines = new ArrayList<>();
+        appendPage(lines, cfg.pages().get(pageIndex), pageIndex);
+        return toBytes(lines);
     }
 
-    private static void trimTrailingEmpty(List<String> lines) {
-        while (!lines.isEmpty()) {
-            String last = lines.get(lines.size() - 1);
-            if (last == null || last.isEmpty()) {
-                lines.remove(lines.size() - 1);
-            } else {
-                break;
-            }
+    private static void appendPage(List<String> lines, InfoPage page, int i) {
+        lines.add("# Page " + (i + 1));
+        lines.add("page" + (i + 1) + "Title: \"" + escape(page.title()) + "\"");
+        if (!page.headerHint().isEmpty()) {
+            lines.add("page" + (i + 1) + "HeaderHint: \"" + escape(page.headerHint()) + "\"");
         }
-    }
-
-    private static int parsePageLinesIndex(String line) {
-        if (line == null) {
-            return -1;
+        if (!page.commandCode().isEmpty()) {
+            lines.add("page" + (i + 1) + "Command: \"" + escape(page.commandCode()) + "\"");
         }
-        for (int i = 1; i <= MAX_PAGES; i++) {
-            if (line.startsWith("page" + i + "Lines:")) {
-                return i - 1;
-            }
+        if (!page.buttonText().equals(DEFAULT_BUTTON_TEXT)) {
+            lines.add("page" + (i + 1) + "ButtonText: \"" + escape(page.buttonText()) + "\"");
         }
-        return -1;
-    }
-
-    private static int parsePageTitleIndex(String key) {
-        if (key == null) {
-            return -1;
+        if (!page.footerText().isEmpty()) {
+            lines.add("page" + (i + 1) + "FooterText: \"" + escape(page.footerText()) + "\"");
         }
-        for (int i = 1; i <= MAX_PAGES; i++) {
-            if (key.equals("page" + i + "Title")) {
-                return i - 1;
-            }
+        if (page.nextPageIndex() >= 0) {
+            lines.add("page" + (i + 1) + "NextPage: " + (page.nextPageIndex() + 1));
+        }
+        lines.add("page" + (i + 1) + "Lines:");
+        for (String line : page.lines()) {
+            lines.add("  - \"" + escape(line) + "\"");
         }
-        return -1;
     }
 
-    private static int parsePageHeaderIndex(String key) {
-        if (key == null) {
-            return -1;
+    private static byte[] toBytes(List<String> lines) {
+        StringBuilder out = new StringBuilder();
+        for (String line : lines) {
+            out.append(line).append(System.lineSeparator());
         }
-        for (int i = 1; i <= MAX_PAGES; i++) {
-            if (key.equals("page" + i + "HeaderHint")) {
-                return i - 1;
-            }
-        }
-        return -1;
+        return out.toString().getBytes(StandardCharsets.UTF_8);
     }
 
-    private static int parsePageCommandIndex(String key) {
-        if (key == null) {
-            return -1;
-        }
-        for (int i = 1; i <= MAX_PAGES; i++) {
-            if (key.equals("page" + i + "Command")) {
-                return i - 1;
+    static void write(Path path, byte[] content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
             }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
         }
-        return -1;
     }
 
-    private static int parsePageButtonIndex(String key) {
-        if (key == null) {
-            return -1;
-        }
-        for (int i = 1; i <= MAX_PAGES; i++) {
-            if (key.equals("page" + i + "ButtonText")) {
-                return i - 1;
+    private static void trimTrailingEmpty(List<String> lines) {
+        while (!lines.isEmpty()) {
+            String last = lines.get(lines.size() - 1);
+            if (last == null || last.isEmpty()) {
+                lines.remove(lines.size() - 1);
+            } else {
+                break;
             }
         }
-        return -1;
     }
 
-    private static int parsePageFooterIndex(String key) {
-        if (key == null) {
+    /**
+     * Parses a {@code pageN<Field>} key in place, without building candidate strings.
+     * Returns {@code (pageIndex << PAGE_FIELD_BITS) | field}, or -1 when the key is not a page key.
+     */
+    private static int parsePageKey(String line, int keyEnd) {
+        int pos = PAGE_KEY_PREFIX.length();
+        if (keyEnd <= pos || !line.startsWith(PAGE_KEY_PREFIX)) {
             return -1;
         }
-        for (int i = 1; i <= MAX_PAGES; i++) {
-            if (key.equals("page" + i + "FooterText")) {
-                return i - 1;
+        int digitsStart = pos;
+        int number = 0;
+        while (pos < keyEnd) {
+            char c = line.charAt(pos);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            number = number * 10 + (c - '0');
+            if (number > MAX_PAGE_NUMBER) {
+                return PAGE_OUT_OF_RANGE;
             }
+            pos++;
         }
-        return -1;
-    }
-
-    private static int parsePageNextIndex(String key) {
-        if (key == null) {
+        if (pos == digitsStart || number < 1 || line.charAt(digitsStart) == '0') {
             return -1;
         }
-        for (int i = 1; i <= MAX_PAGES; i++) {
-            if (key.equals("page" + i + "NextPage")) {
-                return i - 1;
+        int fieldLength = keyEnd - pos;
+        for (int field = 0; field < PAGE_FIELDS.length; field++) {
+            String name = PAGE_FIELDS[field];
+            if (name.length() == fieldLength && line.regionMatches(pos, name, 0, fieldLength)) {
+                return ((number - 1) << PAGE_FIELD_BITS) | field;
             }
         }
         return -1;
@@ -438,6 +497,258 @@ final class BetterInfoConfig {
         return raw.replace("\"", "\\\"");
     }
 
+    private static final class ParsedConfig {
+        private int maxLines;
+        private boolean firstJoinPopupEnabled;
+        private int ackFlushBatch;
+        private int ackFlushIntervalMs;
+        private int popupsPerSecond;
+        private int popupBurst;
+        private int popupBacklog;
+        private boolean shardedPages;
+        private boolean sawPageKeys;
+        private String legacyTitle;
+        private final List<String> legacyLines = new ArrayList<>();
+        private final List<PageFields> pages = new ArrayList<>();
+
+        ParsedConfig(BetterInfoConfig defaults) {
+            if (defaults == null) {
+                return;
+            }
+            maxLines = defaults.maxLines;
+            firstJoinPopupEnabled = defaults.firstJoinPopupEnabled;
+            ackFlushBatch = defaults.ackFlushBatch;
+            ackFlushIntervalMs = defaults.ackFlushIntervalMs;
+            popupsPerSecond = defaults.popupsPerSecond;
+            popupBurst = defaults.popupBurst;
+            popupBacklog = defaults.popupBacklog;
+            shardedPages = defaults.shardedPages;
+            legacyTitle = defaults.pages().get(0).title();
+            for (InfoPage fallback : defaults.pages()) {
+                PageFields page = new PageFields();
+                page.lines = new ArrayList<>(fallback.lines());
+                page.title = fallback.title();
+                page.headerHint = fallback.headerHint();
+                page.commandCode = fallback.commandCode();
+                page.buttonText = fallback.buttonText();
+                page.footerText = fallback.footerText();
+                page.nextPage = fallback.nextPageIndex();
+                pages.add(page);
+            }
+        }
+
+        private PageFields page(int index) {
+            while (pages.size() <= index) {
+                pages.add(new PageFields());
+            }
+            return pages.get(index);
+        }
+
+        void read(Path path) throws IOException {
+            boolean inLegacyLines = false;
+            int currentPageLines = -1;
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String raw;
+                while ((raw = reader.readLine()) != null) {
+                    String line = raw.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    if (line.startsWith("lines:")) {
+                        inLegacyLines = true;
+                        currentPageLines = -1;
+                        continue;
+                    }
+                    if (inLegacyLines && line.startsWith("-")) {
+                        String value = trimQuotes(line.substring(1).trim());
+                        if (!value.isEmpty()) {
+                            legacyLines.add(value);
+                        }
+                        continue;
+                    }
+                    if (currentPageLines >= 0 && line.startsWith("-")) {
+                        String value = trimQuotes(line.substring(1).trim());
+                        if (!value.isEmpty()) {
+                            page(currentPageLines).lines.add(value);
+                        }
+                        continue;
+                    }
+                    inLegacyLines = false;
+                    currentPageLines = -1;
+
+                    int sep = line.indexOf(':');
+                    if (sep < 0) {
+                        continue;
+                    }
+                    int keyEnd = sep;
+                    while (keyEnd > 0 && line.charAt(keyEnd - 1) <= ' ') {
+                        keyEnd--;
+                    }
+                    int pageKey = parsePageKey(line, keyEnd);
+                    if (pageKey == PAGE_OUT_OF_RANGE) {
+                        System.out.println("[BetterInfo] Ignoring " + line.substring(0, keyEnd) + ": page numbers stop at " + MAX_PAGE_NUMBER + ".");
+                        continue;
+                    }
+                    if (pageKey >= 0) {
+                        sawPageKeys = true;
+                        int pageIndex = pageKey >>> PAGE_FIELD_BITS;
+                        int field = pageKey & PAGE_FIELD_MASK;
+                        if (field == FIELD_LINES) {
+                            currentPageLines = pageIndex;
+                            page(pageIndex).lines = new ArrayList<>();
+                            continue;
+                        }
+                        String value = trimQuotes(line.substring(sep + 1).trim());
+                        switch (field) {
+                            case FIELD_TITLE -> page(pageIndex).title = value;
+                            case FIELD_HEADER_HINT -> page(pageIndex).headerHint = value;
+                            case FIELD_COMMAND -> page(pageIndex).commandCode = value;
+                            case FIELD_BUTTON_TEXT -> page(pageIndex).buttonText = value;
+                            case FIELD_FOOTER_TEXT -> page(pageIndex).footerText = value;
+                            case FIELD_NEXT_PAGE -> {
+                                try {
+                                    page(pageIndex).nextPage = Integer.parseInt(value) - 1;
+                                } catch (NumberFormatException ignored) {
+                                }
+                            }
+                            default -> {
+                            }
+                        }
+                        continue;
+                    }
+                    String key = line.substring(0, keyEnd);
+                    String value = trimQuotes(line.substring(sep + 1).trim());
+                    switch (key) {
+                        case "maxLines" -> {
+                            try {
+                                maxLines = Integer.parseInt(value);
+                            } catch (NumberFormatException ignored) {
+                            }
+                        }
+                        case "firstJoinPopup" -> firstJoinPopupEnabled = parseToggleValue(value, firstJoinPopupEnabled);
+                        case "ackFlushBatch" -> {
+                            try {
+                                ackFlushBatch = Integer.parseInt(value);
+                            } catch (NumberFormatException ignored) {
+                            }
+                        }
+                        case "ackFlushIntervalMs" -> {
+                            try {
+                                ackFlushIntervalMs = Integer.parseInt(value);
+                            } catch (NumberFormatException ignored) {
+                            }
+                        }
+                        case "popupsPerSecond" -> {
+                            try {
+                                popupsPerSecond = Integer.parseInt(value);
+                            } catch (NumberFormatException ignored) {
+                            }
+                        }
+                        case "popupBurst" -> {
+                            try {
+                                popupBurst = Integer.parseInt(value);
+                            } catch (NumberFormatException ignored) {
+                            }
+                        }
+                        case "popupBacklog" -> {
+                            try {
+                                popupBacklog = Integer.parseInt(value);
+                            } catch (NumberFormatException ignored) {
+                            }
+                        }
+                        case "pageStorage" -> shardedPages = "sharded".equalsIgnoreCase(value);
+                        case "title" -> {
+                            if (!value.isEmpty()) {
+                                legacyTitle = value;
+                            }
+                        }
+                        default -> {
+                        }
+                    }
+                }
+            }
+        }
+
+        void takePage(ParsedConfig shard, int index) {
+            if (index >= shard.pages.size()) {
+                return;
+            }
+            PageFields from = shard.pages.get(index);
+            PageFields into = page(index);
+            if (from.lines != null) {
+                into.lines = from.lines;
+            }
+            if (from.title != null) {
+                into.title = from.title;
+            }
+            if (from.headerHint != null) {
+                into.headerHint = from.headerHint;
+            }
+            if (from.commandCode != null) {
+                into.commandCode = from.commandCode;
+            }
+            if (from.buttonText != null) {
+                into.buttonText = from.buttonText;
+            }
+            if (from.footerText != null) {
+                into.footerText = from.footerText;
+            }
+            if (from.nextPage != UNSET_NEXT_PAGE) {
+                into.nextPage = from.nextPage;
+            }
+        }
+
+        BetterInfoConfig resolve(Path dataDir) {
+            PageFields first = page(0);
+            if (!legacyLines.isEmpty()) {
+                first.lines = new ArrayList<>(legacyLines);
+            }
+            if ((first.title == null || first.title.isEmpty()) && legacyTitle != null) {
+                first.title = legacyTitle;
+            }
+            page(DEFAULT_PAGE_COUNT - 1);
+
+            int cappedLines = Math.max(1, Math.min(UI_LINE_SLOTS, maxLines));
+            List<InfoPage> resolved = new ArrayList<>(pages.size());
+            for (int i = 0; i < pages.size(); i++) {
+                PageFields page = pages.get(i);
+                List<String> lines = page.lines != null ? new ArrayList<>(page.lines) : new ArrayList<>();
+                trimTrailingEmpty(lines);
+                String title = page.title != null && !page.title.isEmpty() ? page.title : "Page " + (i + 1);
+                String hint = page.headerHint != null && !page.headerHint.isEmpty() ? page.headerHint : DEFAULT_HEADER_HINT;
+                String code = page.commandCode != null ? page.commandCode : "";
+                String button = page.buttonText != null && !page.buttonText.isEmpty() ? page.buttonText : DEFAULT_BUTTON_TEXT;
+                String footer = page.footerText != null ? page.footerText : "";
+                int next = page.nextPage != UNSET_NEXT_PAGE ? page.nextPage : -1;
+                resolved.add(new InfoPage(title, lines, hint, code, button, footer, next));
+            }
+
+            return new BetterInfoConfig(
+                cappedLines,
+                Collections.unmodifiableList(resolved),
+                firstJoinPopupEnabled,
+                dataDir,
+                ackFlushBatch,
+                ackFlushIntervalMs,
+                popupsPerSecond,
+                popupBurst,
+                popupBacklog,
+                shardedPages,
+                false
+            );
+        }
+    }
+
+    private static final class PageFields {
+        private String title;
+        private List<String> lines;
+        private String headerHint;
+        private String commandCode;
+        private String buttonText;
+        private String footerText;
+        private int nextPage = UNSET_NEXT_PAGE;
+    }
+
     static final class InfoPage {
         private final String title;
         private final List<String> lines;
@@ -476,7 +787,7 @@ final class BetterInfoConfig {
         }
 
         private int normalizeNextPage(int value) {
-            if (value < 0 || value >= MAX_PAGES) {
+            if (value < 0 || value >= MAX_PAGE_NUMBER) {
                 return -1;
             }
             return value;
@@ -541,5 +852,27 @@ final class BetterInfoConfig {
         InfoPage withNextPageIndex(int newNextPageIndex) {
             return new InfoPage(title, lines, headerHint, commandCode, buttonText, footerText, newNextPageIndex);
         }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof InfoPage page)) {
+                return false;
+            }
+            return nextPageIndex == page.nextPageIndex
+                && title.equals(page.title)
+                && headerHint.equals(page.headerHint)
+                && commandCode.equals(page.commandCode)
+                && buttonText.equals(page.buttonText)
+                && footerText.equals(page.footerText)
+                && lines.equals(page.lines);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(title, lines, headerHint, commandCode, buttonText, footerText, nextPageIndex);
+        }
     }
 }
@@ -6,7 +6,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 
 final class BetterInfoHud extends CustomUIHud {
 
-    static final int MAX_LINES = BetterInfoConfig.HARD_MAX_LINES;
+    static final int MAX_LINES = BetterInfoConfig.UI_LINE_SLOTS;
     private static final String DEFAULT_TITLE_COLOR = "#f8efe1";
 
     private final BetterInfoConfig config;
@@ -15,163 +15,103 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 
-import java.lang.reflect.Method;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 final class BetterInfoPage extends InteractiveCustomUIPage<BetterInfoPage.PageEventData> {
 
-    private static final String DEFAULT_TITLE_COLOR = "#f8efe1";
-    private static final Pattern URL_PATTERN = Pattern.compile("(https?://\\S+)");
-
-    private final InfoView view;
-    private final BetterInfoConfig config;
+    private static final String VIEW_TOKEN = "#ViewToken.Text";
+    /**
+     * Bound once per page; the target window or link is worked out from the view the event was
+     * sent from, so navigating in place never adds bindings.
+     */
+    private static final EventData NEXT_PAGE = new EventData().append("Action", "next").append("@View", VIEW_TOKEN);
+    private static final EventData PREV_LINES = new EventData().append("Action", "lines").append("Step", "-1").append("@View", VIEW_TOKEN);
+    private static final EventData NEXT_LINES = new EventData().append("Action", "lines").append("Step", "1").append("@View", VIEW_TOKEN);
+
+    private InfoView view;
+    private InfoPageTemplate template;
     private final BetterInfoService service;
     private final Player player;
 
-    BetterInfoPage(PlayerRef ref, Player player, BetterInfoService service, InfoView view, BetterInfoConfig config) {
+    BetterInfoPage(PlayerRef ref, Player player, BetterInfoService service, InfoView view, InfoPageTemplate template) {
         super(ref, CustomPageLifetime.CanDismissOrCloseThroughInteraction, PageEventData.CODEC);
         this.player = player;
         this.service = service;
         this.view = view;
-        this.config = config;
+        this.template = template;
     }
 
     @Override
     public void build(Ref<EntityStore> ref, UICommandBuilder builder, UIEventBuilder events, Store<EntityStore> store) {
-        builder.append("Pages/GilloDaby_BetterInfo.ui");
-
-        if (view == null) {
+        if (view == null || template == null) {
+            builder.append(InfoPageTemplate.UI_PATH);
             builder.set("#InfoRoot.Visible", false);
             return;
         }
 
-        builder.set("#InfoRoot.Visible", true);
-        builder.set("#InfoTitle.Text", view.title());
-        builder.set("#InfoTitle.Style.TextColor", resolveTitleColor(view));
-        String header = view.headerHint() != null && !view.headerHint().isEmpty()
-            ? view.headerHint()
-            : BetterInfoConfig.DEFAULT_HEADER_HINT;
-        builder.set("#HeaderHint.Text", header);
-        String footer = view.footerText() != null && !view.footerText().isEmpty()
-            ? view.footerText()
-            : BetterInfoConfig.DEFAULT_FOOTER_TEXT;
-        builder.set("#FooterHint.Text", footer);
-        String buttonText = view.buttonText() != null && !view.buttonText().isEmpty()
-            ? view.buttonText()
-            : BetterInfoConfig.DEFAULT_BUTTON_TEXT;
-        builder.set("#AgreeButton.Text", buttonText);
-        events.addEventBinding(CustomUIEventBindingType.Activating, "#AgreeButton", new EventData().append("Action", "next"), false);
-
-        int lineCount = view.lines() != null ? view.lines().size() : 0;
-        int maxVisible = Math.min(BetterInfoHud.MAX_LINES, lineCount);
-        for (int i = 0; i < BetterInfoHud.MAX_LINES; i++) {
-            String baseId = "#Line" + (i + 1);
-            String textSelector = baseId + ".Text";
-            String visibleSelector = baseId + ".Visible";
-            String colorSelector = baseId + ".Style.Default.LabelStyle.TextColor";
-            String hoverColorSelector = baseId + ".Style.Hovered.LabelStyle.TextColor";
-            String pressedColorSelector = baseId + ".Style.Pressed.LabelStyle.TextColor";
-            if (view.lines() != null && i < maxVisible && i < view.lines().size()) {
-                InfoView.Line line = view.lines().get(i);
-                builder.set(textSelector, line.text());
-                builder.set(colorSelector, line.colorHex());
-                builder.set(hoverColorSelector, line.colorHex());
-                builder.set(pressedColorSelector, line.colorHex());
-                builder.set(visibleSelector, true);
-                String url = extractFirstUrl(line.text());
-                if (!url.isEmpty()) {
-                    events.addEventBinding(
-                        CustomUIEventBindingType.Activating,
-                        baseId,
-                        new EventData().append("Action", "url").append("Url", url),
-                        false
-                    );
-                }
-            } else {
-                builder.set(textSelector, "");
-                builder.set(colorSelector, "#f0e7da");
-                builder.set(hoverColorSelector, "#f0e7da");
-                builder.set(pressedColorSelector, "#f0e7da");
-                builder.set(visibleSelector, false);
-            }
-        }
+        template.apply(builder);
+        events.addEventBinding(CustomUIEventBindingType.Activating, "#AgreeButton", NEXT_PAGE, false);
+        events.addEventBinding(CustomUIEventBindingType.Activating, "#PrevLinesButton", PREV_LINES, false);
+        events.addEventBinding(CustomUIEventBindingType.Activating, "#NextLinesButton", NEXT_LINES, false);
+        InfoPageTemplate.bindUrls(events);
     }
 
     @Override
     public void handleDataEvent(Ref<EntityStore> ref, Store<EntityStore> store, PageEventData data) {
-        if (data != null && "url".equalsIgnoreCase(data.action) && data.url != null && !data.url.isBlank()) {
-            if (player != null) {
-                openUrl(player, data.url);
+        if (data != null && template != null && !isCurrentView(data.view)) {
+            return;
+        }
+        if (data != null && "url".equalsIgnoreCase(data.action)) {
+            String url = template != null ? template.url(parseLine(data.line)) : "";
+            if (player != null && !url.isEmpty()) {
+                openUrl(player, url);
+            }
+            return;
+        }
+        if (data != null && "lines".equalsIgnoreCase(data.action)) {
+            if (view != null && service != null) {
+                navigateTo(view.pageIndex(), Math.max(0, template.window() + parseStep(data.step)));
             }
             return;
         }
-        if (view != null && service != null && player != null) {
+        if (view != null && service != null) {
             int next = view.nextPageIndex();
-            if (next >= 0 && next != view.pageIndex()) {
-                service.queueShowInfoPage(player, next);
-                close();
+            if (next >= 0 && next != view.pageIndex() && next < service.pageSnapshot().pages().size()) {
+                navigateTo(next, 0);
                 return;
             }
         }
         close();
     }
 
-    private String resolveTitleColor(InfoView view) {
-        if (view == null || view.titleColorHex() == null || view.titleColorHex().isEmpty()) {
-            return DEFAULT_TITLE_COLOR;
-        }
-        return view.titleColorHex();
-    }
-
-    private String extractFirstUrl(String text) {
-        if (text == null || text.isEmpty()) {
-            return "";
-        }
-        Matcher matcher = URL_PATTERN.matcher(text);
-        if (!matcher.find()) {
-            return "";
-        }
-        return trimUrl(matcher.group(1));
+    private void navigateTo(int pageIndex, int window) {
+        PageSnapshot snapshot = service.pageSnapshot();
+        InfoView nextView = snapshot.view(pageIndex);
+        InfoPageTemplate nextTemplate = snapshot.template(pageIndex, window);
+        UICommandBuilder builder = new UICommandBuilder();
+        template.applyDiff(nextTemplate, builder);
+        this.view = nextView;
+        this.template = nextTemplate;
+        sendUpdate(builder, new UIEventBuilder(), false);
     }
 
-    private String trimUrl(String url) {
-        if (url == null || url.isEmpty()) {
-            return "";
-        }
-        String trimmed = url.trim();
-        while (!trimmed.isEmpty()) {
-            char last = trimmed.charAt(trimmed.length() - 1);
-            if (last == '.' || last == ',' || last == ';' || last == ':' || last == ')' || last == ']' || last == '}' || last == '>' || last == '"' || last == '\'') {
-                trimmed = trimmed.substring(0, trimmed.length() - 1);
-                continue;
-            }
-            break;
-        }
-        return trimmed;
+    private boolean isCurrentView(String token) {
+        return token != null && template != null && token.equals(template.viewToken());
     }
 
-    private void openUrl(Player player, String url) {
-        if (!tryOpenExternal(player, url)) {
-            player.sendMessage(service.text("Open: " + url));
+    private static int parseLine(String line) {
+        try {
+            return line != null ? Integer.parseInt(line) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
         }
     }
 
-    private boolean tryOpenExternal(Player player, String url) {
-        return tryInvoke(player, "openUrl", url)
-            || tryInvoke(player, "openURL", url)
-            || tryInvoke(player, "openBrowser", url)
-            || tryInvoke(player, "openExternalUrl", url)
-            || tryInvoke(player, "openExternalURL", url);
+    private static int parseStep(String step) {
+        return "-1".equals(step) ? -1 : "1".equals(step) ? 1 : 0;
     }
 
-    private boolean tryInvoke(Player player, String methodName, String url) {
-        try {
-            Method method = player.getClass().getMethod(methodName, String.class);
-            method.invoke(player, url);
-            return true;
-        } catch (Exception ignored) {
-            return false;
+    private void openUrl(Player player, String url) {
+        if (!service.openUrl(player, url)) {
+            player.sendMessage(service.text("Open: " + url));
         }
     }
 
@@ -181,12 +121,16 @@ final class BetterInfoPage extends InteractiveCustomUIPage<BetterInfoPage.PageEv
         static {
             BuilderCodec.Builder<PageEventData> builder = BuilderCodec.builder(PageEventData.class, PageEventData::new);
             builder.append(new KeyedCodec<>("Action", Codec.STRING), (e, v) -> e.action = v, e -> e.action).add();
-            builder.append(new KeyedCodec<>("Url", Codec.STRING), (e, v) -> e.url = v, e -> e.url).add();
+            builder.append(new KeyedCodec<>("Line", Codec.STRING), (e, v) -> e.line = v, e -> e.line).add();
+            builder.append(new KeyedCodec<>("Step", Codec.STRING), (e, v) -> e.step = v, e -> e.step).add();
+            builder.append(new KeyedCodec<>("@View", Codec.STRING), (e, v) -> e.view = v, e -> e.view).add();
             CODEC = builder.build();
         }
 
         private String action;
-        private String url;
+        private String line;
+        private String step;
+        private String view;
 
         PageEventData() {
         }
@@ -3,10 +3,13 @@ package com.gillodaby.betterinfo;
 import com.hypixel.hytale.event.EventBus;
 import com.hypixel.hytale.server.core.HytaleServer;
 import com.hypixel.hytale.server.core.command.system.CommandManager;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 
+import java.util.Locale;
+
 public class BetterInfoPlugin extends JavaPlugin {
 
     private BetterInfoService service;
@@ -21,7 +24,9 @@ public class BetterInfoPlugin extends JavaPlugin {
 
     @Override
     public void start() {
+        long startedAt = System.nanoTime();
         BetterInfoConfig config = BetterInfoConfig.load(getDataDirectory());
+        long configLoadedAt = System.nanoTime();
         service = new BetterInfoService(config);
 
         CommandManager commandManager = CommandManager.get();
@@ -31,10 +36,17 @@ public class BetterInfoPlugin extends JavaPlugin {
 
         EventBus bus = HytaleServer.get().getEventBus();
         bus.registerGlobal(PlayerReadyEvent.class, service::handlePlayerReady);
+        bus.register(PlayerDisconnectEvent.class, service::handlePlayerDisconnect);
 
         service.start();
         int infoLineCount = config.pages().stream().mapToInt(page -> page.lines().size()).sum();
         System.out.println("[BetterInfo] Started with " + infoLineCount + " info lines.");
+        System.out.println("[BetterInfo] Startup took " + millis(System.nanoTime() - startedAt) + " ms (config "
+            + millis(configLoadedAt - startedAt) + " ms from " + (config.loadedFromCompiledSnapshot() ? CompiledConfig.FILE_NAME : BetterInfoConfig.FILE_NAME) + ").");
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
     }
 
     @Override
@@ -1,52 +1,80 @@
 package com.gillodaby.betterinfo;
 
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.entity.entities.player.pages.PageManager;
+import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 final class BetterInfoService {
 
-    private static final String DEFAULT_TITLE_COLOR = "#f8efe1";
-    private static final String DEFAULT_LINE_COLOR = "#f0e7da";
-
-    private final ScheduledExecutorService executor;
-    private final Path acknowledgedPath;
-    private final Set<UUID> acknowledged = Collections.synchronizedSet(new HashSet<>());
-    private BetterInfoConfig config;
-    private final List<String> mutableInfoLines = new ArrayList<>();
-    private final List<BetterInfoConfig.InfoPage> pages = new ArrayList<>();
-    private int editorPageIndex;
+    private static final long ACK_COMPACT_INTERVAL_SECONDS = 300;
+    private static final long STOP_DRAIN_TIMEOUT_MS = 2000;
+    private static final long FIRST_JOIN_POPUP_DELAY_MS = 1200;
+    private static final long CONFIG_RELOAD_DEBOUNCE_MS = 250;
+    private static final long EDITOR_DRAFT_DEBOUNCE_MS = 1000;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final AcknowledgedStore acknowledged;
+    private final PopupScheduler popups;
+    private final ConfigWatcher configWatcher;
+    private final ConfigWriter configWriter;
+    private final EditorDraftStore editorDrafts;
+    private final UrlOpener urlOpener = new UrlOpener();
+    private final AtomicReference<PageSnapshot> state;
+    private volatile List<BetterInfoConfig.InfoPage> savedPages;
     private InfoShortcutRegistry shortcutRegistry;
 
     BetterInfoService(BetterInfoConfig config) {
-        this.config = config;
-        ensurePagesLoaded(config);
-        this.acknowledgedPath = config.dataDir().resolve("acknowledged.txt");
-        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        this.state = new AtomicReference<>(PageSnapshot.of(config));
+        this.savedPages = state.get().pages();
+        this.acknowledged = new AcknowledgedStore(config.dataDir());
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
             Thread thread = new Thread(r, "BetterInfo-Worker");
             thread.setDaemon(true);
             return thread;
         });
-        loadAcknowledged();
-        this.editorPageIndex = 0;
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.popups = new PopupScheduler(
+            executor,
+            FIRST_JOIN_POPUP_DELAY_MS,
+            config.popupsPerSecond(),
+            config.popupBurst(),
+            config.popupBacklog()
+        );
+        this.configWriter = new ConfigWriter(executor);
+        this.editorDrafts = new EditorDraftStore(config.dataDir(), executor, EDITOR_DRAFT_DEBOUNCE_MS);
+        this.configWatcher = new ConfigWatcher(
+            config.dataDir(),
+            BetterInfoConfig.FILE_NAME,
+            BetterInfoConfig.SHARD_DIR,
+            executor,
+            CONFIG_RELOAD_DEBOUNCE_MS,
+            this::reloadChangedConfig
+        );
+        acknowledged.load();
     }
 
     void start() {
+        long flushInterval = state.get().config().ackFlushIntervalMs();
+        executor.scheduleWithFixedDelay(acknowledged::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(acknowledged::compact, ACK_COMPACT_INTERVAL_SECONDS, ACK_COMPACT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        configWatcher.start();
     }
     void attachShortcutRegistry(InfoShortcutRegistry registry) {
         this.shortcutRegistry = registry;
@@ -55,7 +83,18 @@ final class BetterInfoService {
 
 
     void stop() {
-        executor.shutdownNow();
+        configWatcher.stop();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(STOP_DRAIN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                System.out.println("[BetterInfo] Worker did not finish within " + STOP_DRAIN_TIMEOUT_MS + "ms, draining acknowledgements anyway.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        editorDrafts.flush();
+        configWriter.flush();
+        acknowledged.close();
     }
 
     void handlePlayerReady(PlayerReadyEvent event) {
@@ -63,32 +102,46 @@ final class BetterInfoService {
         if (player == null) {
             return;
         }
-        ensureInfoLines();
         PlayerRef ref = player.getPlayerRef();
         if (ref == null || ref.getUuid() == null) {
             return;
         }
+        BetterInfoConfig config = state.get().config();
         if (!config.firstJoinPopupEnabled()) {
             return;
         }
+        World world = player.getWorld();
+        if (world == null) {
+            return;
+        }
         UUID id = ref.getUuid();
         if (!acknowledged.contains(id)) {
-            acknowledged.add(id);
-            persistAcknowledged();
-            executor.schedule(() -> showInfoPage(player), 1200, TimeUnit.MILLISECONDS);
+            popups.enqueue(id, () -> world.execute(() -> openFirstJoinPopup(world, ref, id)));
         }
     }
 
-    void showInfoPage(Player player) {
-        showInfoPage(player, 0);
+    /**
+     * Runs on the player's world thread once the scheduler lets the popup through. Players are only
+     * acknowledged once the popup actually opened, so one dropped by a full backlog or gone before
+     * their turn sees it on the next join instead.
+     */
+    private void openFirstJoinPopup(World world, PlayerRef ref, UUID id) {
+        if (showQueuedInfoPage(world, ref) && acknowledged.add(id)
+                && acknowledged.pendingCount() >= state.get().config().ackFlushBatch()) {
+            executor.execute(acknowledged::flush);
+        }
     }
 
-    void queueShowInfoPage(Player player, int pageIndex) {
-        if (player == null) {
+    void handlePlayerDisconnect(PlayerDisconnectEvent event) {
+        PlayerRef ref = event.getPlayerRef();
+        if (ref == null || ref.getUuid() == null) {
             return;
         }
-        int target = Math.max(0, Math.min(BetterInfoConfig.MAX_PAGES - 1, pageIndex));
-        executor.schedule(() -> showInfoPage(player, target), 200, TimeUnit.MILLISECONDS);
+        popups.cancel(ref.getUuid());
+    }
+
+    void showInfoPage(Player player) {
+        showInfoPage(player, 0);
     }
 
     boolean showInfoPage(Player player, String pageCode) {
@@ -96,7 +149,7 @@ final class BetterInfoService {
             showInfoPage(player);
             return true;
         }
-        int index = findPageIndexByCode(pageCode);
+        int index = state.get().pageIndexByCode(pageCode);
         if (index < 0) {
             return false;
         }
@@ -104,22 +157,23 @@ final class BetterInfoService {
         return true;
     }
 
-    void showInfoPage(Player player, int pageIndex) {
+    boolean showInfoPage(Player player, int pageIndex) {
         if (player == null) {
-            return;
+            return false;
         }
         PlayerRef ref = player.getPlayerRef();
         if (ref == null || ref.getUuid() == null || ref.getReference() == null || ref.getReference().getStore() == null) {
-            return;
+            return false;
         }
         PageManager pageManager = player.getPageManager();
         if (pageManager == null) {
-            return;
+            return false;
         }
-        InfoView view = buildView(pageIndex);
-        BetterInfoPage page = new BetterInfoPage(ref, player, this, view, config);
+        PageSnapshot snapshot = state.get();
+        BetterInfoPage page = new BetterInfoPage(ref, player, this, snapshot.view(pageIndex), snapshot.template(pageIndex, 0));
         pageManager.openCustomPage(ref.getReference(), ref.getReference().getStore(), page);
         System.out.println("[BetterInfo] Opened info page " + (pageIndex + 1) + " for " + safePlayerName(player));
+        return true;
     }
 
     void openEditor(Player player) {
@@ -134,291 +188,219 @@ final class BetterInfoService {
         if (pageManager == null) {
             return;
         }
-        InfoEditorPage editorPage = new InfoEditorPage(ref, this, config, snapshotPages(), editorPageIndex);
+        PageSnapshot snapshot = state.get();
+        EditorDraftStore.Restored restored = editorDrafts.restore(ref.getUuid(), savedPages);
+        InfoEditorPage editorPage = new InfoEditorPage(ref, this, snapshot, restored);
         pageManager.openCustomPage(ref.getReference(), ref.getReference().getStore(), editorPage);
     }
 
     List<String> infoLines() {
-        return List.copyOf(mutableInfoLines);
+        return state.get().infoLines();
     }
 
     void setInfoLine(int index, String text) {
-        ensureSize(index + 1);
-        mutableInfoLines.set(index, text);
-        updatePageZeroLines();
+        update(current -> {
+            List<String> lines = new ArrayList<>(current.infoLines());
+            while (lines.size() <= index) {
+                lines.add("");
+            }
+            if (index < 0 || index >= lines.size()) {
+                return current;
+            }
+            lines.set(index, text);
+            return current.withInfoLines(lines);
+        });
     }
 
-    boolean addInfoLine(String text) {
-        int max = Math.min(BetterInfoHud.MAX_LINES, config.maxLines());
-        if (mutableInfoLines.size() >= max) {
-            return false;
-        }
-        mutableInfoLines.add(text);
-        updatePageZeroLines();
-        return true;
+    void addInfoLine(String text) {
+        update(current -> {
+            List<String> lines = new ArrayList<>(current.infoLines());
+            lines.add(text);
+            return current.withInfoLines(lines);
+        });
     }
 
     boolean removeInfoLine(int index) {
-        if (index < 0 || index >= mutableInfoLines.size()) {
-            return false;
+        while (true) {
+            PageSnapshot current = state.get();
+            if (index < 0 || index >= current.infoLines().size()) {
+                return false;
+            }
+            List<String> lines = new ArrayList<>(current.infoLines());
+            lines.remove(index);
+            if (state.compareAndSet(current, current.withInfoLines(lines))) {
+                return true;
+            }
         }
-        mutableInfoLines.remove(index);
-        updatePageZeroLines();
-        return true;
     }
 
     void saveConfig() {
-        List<BetterInfoConfig.InfoPage> snapshot = new ArrayList<>(pages);
-        BetterInfoConfig updated = config.withPages(snapshot);
-        config = updated;
-        pages.clear();
-        pages.addAll(updated.pages());
-        ensurePageCapacity();
-        syncMutableInfoLinesFromPageZero();
-        BetterInfoConfig.persist(updated);
+        BetterInfoConfig saved = state.get().config();
+        savedPages = saved.pages();
+        configWriter.submit(saved);
         notifyShortcutRegistry();
     }
 
-    void reloadConfig() {
-        this.config = BetterInfoConfig.load(config.dataDir());
-        ensurePagesLoaded(config);
-        notifyShortcutRegistry();
-    }
-
-    BetterInfoConfig currentConfig() {
-        return config;
-    }
-
-    List<BetterInfoConfig.InfoPage> snapshotPages() {
-        return new ArrayList<>(pages);
-    }
-
-    void applyEditorUpdate(int currentPageIndex, List<BetterInfoConfig.InfoPage> updatedPages) {
-        this.editorPageIndex = Math.max(0, Math.min(BetterInfoConfig.MAX_PAGES - 1, currentPageIndex));
-        pages.clear();
-        if (updatedPages != null) {
-            pages.addAll(updatedPages);
+    List<Integer> saveEditorEdits(UUID editor, int currentPageIndex, List<PageSnapshot.PageEdit> edits) {
+        List<Integer> conflicts = applyEditorEdits(currentPageIndex, edits);
+        BetterInfoConfig saved = state.get().config();
+        savedPages = saved.pages();
+        Runnable commit = () -> {
+            if (editorDrafts.commit(editor, saved)) {
+                configWriter.adopt(BetterInfoConfig.path(saved));
+            } else {
+                configWriter.submit(saved);
+            }
+        };
+        try {
+            executor.execute(commit);
+        } catch (RejectedExecutionException e) {
+            commit.run();
         }
-        ensurePageCapacity();
-        syncMutableInfoLinesFromPageZero();
-        BetterInfoConfig updated = config.withPages(new ArrayList<>(pages));
-        config = updated;
-        pages.clear();
-        pages.addAll(updated.pages());
-        ensurePageCapacity();
-        syncMutableInfoLinesFromPageZero();
-        notifyShortcutRegistry();
+        return conflicts;
     }
 
-    com.hypixel.hytale.server.core.Message text(String raw) {
-        return com.hypixel.hytale.server.core.Message.raw(raw);
+    void scheduleEditorDraft(UUID editor, List<BetterInfoConfig.InfoPage> draftPages, List<BetterInfoConfig.InfoPage> basePages) {
+        editorDrafts.schedule(editor, state.get().config().withPages(draftPages), basePages);
     }
 
-    private InfoView buildView(int pageIndex) {
-        BetterInfoConfig.InfoPage current = pageAt(pageIndex);
-        if (current == null) {
-            InfoView.Line titleParts = parseDisplayLine("", DEFAULT_TITLE_COLOR);
-            return new InfoView(
-                titleParts.text(),
-                titleParts.colorHex(),
-                    Collections.emptyList(),
-                    BetterInfoConfig.DEFAULT_HEADER_HINT,
-                    BetterInfoConfig.DEFAULT_BUTTON_TEXT,
-                    BetterInfoConfig.DEFAULT_FOOTER_TEXT,
-                    pageIndex,
-                    -1,
-                    ""
-            );
-        }
-        List<InfoView.Line> result = new ArrayList<>();
-        int max = Math.min(config.maxLines(), BetterInfoHud.MAX_LINES);
-        for (String line : current.lines()) {
-            if (line == null) {
-                continue;
-            }
-            result.add(parseDisplayLine(line));
-            if (result.size() >= max) {
-                break;
-            }
-        }
-        String header = current.headerHint() != null && !current.headerHint().isEmpty()
-                ? current.headerHint()
-                : BetterInfoConfig.DEFAULT_HEADER_HINT;
-        String buttonText = current.buttonText() != null && !current.buttonText().isEmpty()
-                ? current.buttonText()
-                : BetterInfoConfig.DEFAULT_BUTTON_TEXT;
-        String footerText = resolveFooterText(current);
-        int nextPage = current.nextPageIndex();
-        InfoView.Line titleParts = parseDisplayLine(current.title(), DEFAULT_TITLE_COLOR);
-        return new InfoView(
-            titleParts.text(),
-            titleParts.colorHex(),
-                List.copyOf(result),
-                header,
-                buttonText,
-                footerText,
-                pageIndex,
-                nextPage,
-                current.commandCode()
-        );
+    void discardEditorDraft(UUID editor) {
+        editorDrafts.discard(editor);
     }
 
-    private InfoView.Line parseDisplayLine(String raw) {
-        return parseDisplayLine(raw, DEFAULT_LINE_COLOR);
+    /** The page as last written to or loaded from disk, or null when it has never been saved. */
+    BetterInfoConfig.InfoPage savedPage(int index) {
+        List<BetterInfoConfig.InfoPage> saved = savedPages;
+        return index < saved.size() ? saved.get(index) : null;
     }
 
-    private InfoView.Line parseDisplayLine(String raw, String fallbackColor) {
-        String defaultColor = (fallbackColor != null && !fallbackColor.isEmpty()) ? fallbackColor : DEFAULT_LINE_COLOR;
-        if (raw == null) {
-            return new InfoView.Line("", defaultColor);
-        }
-        String text = raw;
-        String color = defaultColor;
-        if (raw.startsWith("[") && raw.length() > 8) {
-            int close = raw.indexOf(']');
-            if (close > 1) {
-                String maybeColor = raw.substring(1, close);
-                String sanitized = sanitizeColor(maybeColor);
-                if (!sanitized.isEmpty()) {
-                    color = sanitized.startsWith("#") ? sanitized : "#" + sanitized;
-                    text = raw.substring(close + 1);
-                }
-            }
-        }
-        return new InfoView.Line(text, color);
+    /**
+     * Replaces the live pages with what is on disk and returns the indexes of unsaved pages that
+     * were discarded, so the caller can tell the admin.
+     */
+    List<Integer> reloadConfig() {
+        List<Integer> discarded = new ArrayList<>();
+        applyLoadedConfig(BetterInfoConfig.load(state.get().config().dataDir()), false, discarded);
+        return discarded;
     }
 
-    private String sanitizeColor(String raw) {
-        if (raw == null) {
-            return "";
-        }
-        String trimmed = raw.trim();
-        if (trimmed.startsWith("#")) {
-            trimmed = trimmed.substring(1);
-        }
-        if (trimmed.length() != 6) {
-            return "";
-        }
-        for (char c : trimmed.toCharArray()) {
-            if (Character.digit(c, 16) < 0) {
-                return "";
-            }
-        }
-        return "#" + trimmed.toLowerCase();
+    /**
+     * Picks up changes made on disk without touching pages that have unsaved changes, and returns
+     * the indexes of those that were also changed on disk.
+     */
+    List<Integer> mergeConfigFromDisk() {
+        List<Integer> conflicts = new ArrayList<>();
+        applyLoadedConfig(BetterInfoConfig.load(state.get().config().dataDir()), true, conflicts);
+        return conflicts;
     }
 
-    private String resolveFooterText(BetterInfoConfig.InfoPage page) {
-        if (page.footerText() != null && !page.footerText().isEmpty()) {
-            return page.footerText();
-        }
-        String code = page.commandCode();
-        if (code != null && !code.isEmpty()) {
-            return "You can reopen this page anytime with /" + code;
-        }
-        return BetterInfoConfig.DEFAULT_FOOTER_TEXT;
+    String describeStats() {
+        return String.join("\n",
+            "[BetterInfo] Stats",
+            popups.describe(),
+            configWriter.describe(),
+            editorDrafts.describe(),
+            urlOpener.describe(),
+            shortcutRegistry != null ? shortcutRegistry.describe() : "Shortcuts: not attached",
+            "Acknowledged players: " + acknowledged.size() + " (" + acknowledged.pendingCount() + " waiting to be written)"
+        );
     }
 
-    private void ensureInfoLines() {
-        if (mutableInfoLines.isEmpty()) {
-            syncMutableInfoLinesFromPageZero();
-        }
+    boolean openUrl(Player player, String url) {
+        return urlOpener.open(player, url);
     }
 
-    private void ensureSize(int size) {
-        while (mutableInfoLines.size() < size && mutableInfoLines.size() < BetterInfoHud.MAX_LINES) {
-            mutableInfoLines.add("");
-        }
+    PageSnapshot pageSnapshot() {
+        return state.get();
     }
 
-    private void updatePageZeroLines() {
-        if (pages.isEmpty()) {
-            pages.add(BetterInfoConfig.InfoPage.empty(1));
-        }
-        BetterInfoConfig.InfoPage current = pages.get(0);
-        pages.set(0, current.withLines(new ArrayList<>(mutableInfoLines)));
+    /**
+     * Merges editor edits page by page through the usual compare-and-swap loop and returns the
+     * indexes of pages that were left alone because another edit replaced them first.
+     */
+    List<Integer> applyEditorEdits(int currentPageIndex, List<PageSnapshot.PageEdit> edits) {
+        List<Integer> conflicts = new ArrayList<>();
+        update(current -> current.withEdits(edits, conflicts).withEditorPageIndex(currentPageIndex));
+        notifyShortcutRegistry();
+        return conflicts;
     }
 
-    private void ensurePagesLoaded(BetterInfoConfig config) {
-        pages.clear();
-        pages.addAll(config.pages());
-        ensurePageCapacity();
-        syncMutableInfoLinesFromPageZero();
+    com.hypixel.hytale.server.core.Message text(String raw) {
+        return com.hypixel.hytale.server.core.Message.raw(raw);
     }
 
-    private void ensurePageCapacity() {
-        while (pages.size() < BetterInfoConfig.MAX_PAGES) {
-            pages.add(BetterInfoConfig.InfoPage.empty(pages.size() + 1));
+    private PageSnapshot update(UnaryOperator<PageSnapshot> change) {
+        while (true) {
+            PageSnapshot current = state.get();
+            PageSnapshot next = change.apply(current);
+            if (next == current || state.compareAndSet(current, next)) {
+                return next;
+            }
         }
     }
 
-    private void notifyShortcutRegistry() {
-        if (shortcutRegistry != null) {
-            shortcutRegistry.refreshShortcuts(pages);
+    private void reloadChangedConfig() {
+        BetterInfoConfig config = state.get().config();
+        if (!Files.isRegularFile(BetterInfoConfig.path(config)) || configWriter.wroteCurrentFiles(config)) {
+            return;
         }
-    }
-
-    private void syncMutableInfoLinesFromPageZero() {
-        mutableInfoLines.clear();
-        BetterInfoConfig.InfoPage page = currentPage();
-        if (page != null) {
-            mutableInfoLines.addAll(page.lines());
+        List<Integer> conflicts = new ArrayList<>();
+        int changed = applyLoadedConfig(BetterInfoConfig.load(config.dataDir()), true, conflicts);
+        if (changed > 0) {
+            System.out.println("[BetterInfo] Reloaded " + BetterInfoConfig.FILE_NAME + ": " + changed + " page(s) changed.");
+        }
+        if (!conflicts.isEmpty()) {
+            System.out.println("[BetterInfo] Kept unsaved changes on " + describePages(conflicts)
+                + " that also changed on disk; /info save keeps them, /info reload takes the disk version.");
         }
     }
 
-    private BetterInfoConfig.InfoPage currentPage() {
-        return pageAt(0);
-    }
-
-    private BetterInfoConfig.InfoPage pageAt(int pageIndex) {
-        if (pages.isEmpty()) {
-            return BetterInfoConfig.InfoPage.empty(1);
+    static String describePages(List<Integer> pageIndexes) {
+        StringBuilder numbers = new StringBuilder(pageIndexes.size() == 1 ? "page " : "pages ");
+        for (int i = 0; i < pageIndexes.size(); i++) {
+            numbers.append(i == 0 ? "" : ", ").append(pageIndexes.get(i) + 1);
         }
-        int index = Math.max(0, Math.min(pages.size() - 1, pageIndex));
-        return pages.get(index);
+        return numbers.toString();
     }
 
-    private int findPageIndexByCode(String code) {
-        if (code == null || code.trim().isEmpty()) {
-            return -1;
-        }
-        String normalized = code.trim().toLowerCase();
-        for (int i = 0; i < pages.size(); i++) {
-            String stored = pages.get(i).commandCode();
-            if (stored != null && !stored.isEmpty() && stored.equalsIgnoreCase(normalized)) {
-                return i;
+    private int applyLoadedConfig(BetterInfoConfig loaded, boolean keepUnsaved, List<Integer> conflicts) {
+        PageSnapshot previous = state.get();
+        List<BetterInfoConfig.InfoPage> saved = savedPages;
+        PageSnapshot next = update(current -> current.withLoadedConfig(loaded, saved, keepUnsaved, conflicts));
+        savedPages = loaded.pages();
+        List<BetterInfoConfig.InfoPage> before = previous.pages();
+        List<BetterInfoConfig.InfoPage> after = next.pages();
+        int changed = Math.abs(after.size() - before.size());
+        boolean codesChanged = changed > 0;
+        for (int i = 0; i < Math.min(before.size(), after.size()); i++) {
+            if (before.get(i) != after.get(i)) {
+                changed++;
+                codesChanged |= !before.get(i).commandCode().equals(after.get(i).commandCode());
             }
         }
-        return -1;
+        if (codesChanged) {
+            notifyShortcutRegistry();
+        }
+        return changed;
     }
 
-    private void loadAcknowledged() {
-        if (!Files.exists(acknowledgedPath)) {
-            return;
-        }
-        try {
-            for (String line : Files.readAllLines(acknowledgedPath, StandardCharsets.UTF_8)) {
-                String trimmed = line.trim();
-                if (trimmed.isEmpty()) {
-                    continue;
-                }
-                try {
-                    acknowledged.add(UUID.fromString(trimmed));
-                } catch (IllegalArgumentException ignored) {
-                }
-            }
-        } catch (IOException e) {
-            System.out.println("[BetterInfo] Could not read acknowledged.txt: " + e.getMessage());
+    private void notifyShortcutRegistry() {
+        if (shortcutRegistry != null) {
+            shortcutRegistry.refreshShortcuts(state.get().pages());
         }
     }
 
-    private void persistAcknowledged() {
-        List<String> lines = acknowledged.stream().map(UUID::toString).toList();
-        try {
-            Files.createDirectories(acknowledgedPath.getParent());
-            Files.write(acknowledgedPath, lines, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            System.out.println("[BetterInfo] Could not write acknowledged.txt: " + e.getMessage());
+
+    private boolean showQueuedInfoPage(World world, PlayerRef ref) {
+        Ref<EntityStore> entity = ref.getReference();
+        if (entity == null || !entity.isValid()) {
+            return false;
+        }
+        Store<EntityStore> store = entity.getStore();
+        if (store == null || store.getExternalData() == null || store.getExternalData().getWorld() != world) {
+            return false;
         }
+        return showInfoPage(store.getComponent(entity, Player.getComponentType()), 0);
     }
 
     private String safePlayerName(Player player) {
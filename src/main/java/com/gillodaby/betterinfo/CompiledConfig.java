@@ -0,0 +1,229 @@
+package com.gillodaby.betterinfo;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Binary image of a resolved {@link BetterInfoConfig}, stored as config.bin next to config.yaml.
+ * The header records the size, mtime and combined SHA-256 of config.yaml and every page shard the
+ * image was built from; when they all still match, startup decodes the image from a single read
+ * instead of parsing YAML.
+ *
+ * <pre>
+ * int magic, int version, int sourceCount, sourceCount x (int nameLength, utf8 name, long size, long mtime),
+ * 32 bytes sha256, int maxLines, byte firstJoinPopup, int ackFlushBatch, int ackFlushIntervalMs,
+ * int popupsPerSecond, int popupBurst, int popupBacklog, byte shardedPages, int pageCount,
+ * pageCount x (title, headerHint, commandCode, buttonText, footerText, int nextPage, int lineCount, lines)
+ * </pre>
+ * Strings are an int byte length followed by UTF-8.
+ */
+final class CompiledConfig {
+
+    static final String FILE_NAME = "config.bin";
+
+    private static final int MAGIC = 0x42494346;
+    private static final int VERSION = 2;
+    private static final int DIGEST_BYTES = 32;
+
+    private CompiledConfig() {
+    }
+
+    static Sources sources(Path dataDir) {
+        List<Path> paths = new ArrayList<>();
+        paths.add(dataDir.resolve(BetterInfoConfig.FILE_NAME));
+        paths.addAll(BetterInfoConfig.shardFiles(dataDir));
+        String[] names = new String[paths.size()];
+        long[] sizes = new long[paths.size()];
+        long[] mtimes = new long[paths.size()];
+        MessageDigest digest = sha256();
+        try {
+            for (int i = 0; i < paths.size(); i++) {
+                Path path = paths.get(i);
+                names[i] = dataDir.relativize(path).toString();
+                sizes[i] = Files.size(path);
+                mtimes[i] = Files.getLastModifiedTime(path).toMillis();
+                digest.update(Files.readAllBytes(path));
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return new Sources(names, sizes, mtimes, digest.digest());
+    }
+
+    static BetterInfoConfig read(Path dataDir, Sources sources) {
+        Path path = dataDir.resolve(FILE_NAME);
+        if (sources == null || !Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (in.getInt() != MAGIC || in.getInt() != VERSION || !sources.matches(in)) {
+                return null;
+            }
+            int maxLines = in.getInt();
+            boolean firstJoinPopup = in.get() != 0;
+            int ackFlushBatch = in.getInt();
+            int ackFlushIntervalMs = in.getInt();
+            int popupsPerSecond = in.getInt();
+            int popupBurst = in.getInt();
+            int popupBacklog = in.getInt();
+            boolean shardedPages = in.get() != 0;
+            BetterInfoConfig.InfoPage[] pages = new BetterInfoConfig.InfoPage[readCount(in)];
+            for (int i = 0; i < pages.length; i++) {
+                String title = readString(in);
+                String headerHint = readString(in);
+                String commandCode = readString(in);
+                String buttonText = readString(in);
+                String footerText = readString(in);
+                int nextPage = in.getInt();
+                String[] lines = new String[readCount(in)];
+                for (int l = 0; l < lines.length; l++) {
+                    lines[l] = readString(in);
+                }
+                pages[i] = new BetterInfoConfig.InfoPage(title, Arrays.asList(lines), headerHint, commandCode, buttonText, footerText, nextPage);
+            }
+            return new BetterInfoConfig(
+                maxLines,
+                Collections.unmodifiableList(Arrays.asList(pages)),
+                firstJoinPopup,
+                dataDir,
+                ackFlushBatch,
+                ackFlushIntervalMs,
+                popupsPerSecond,
+                popupBurst,
+                popupBacklog,
+                shardedPages,
+                true
+            );
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static void write(Path dataDir, Sources sources, BetterInfoConfig config) {
+        if (sources == null) {
+            return;
+        }
+        List<byte[]> strings = new ArrayList<>();
+        int size = 4 * Integer.BYTES + DIGEST_BYTES + 6 * Integer.BYTES + 2;
+        for (String name : sources.names) {
+            strings.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+        for (BetterInfoConfig.InfoPage page : config.pages()) {
+            strings.add(page.title().getBytes(StandardCharsets.UTF_8));
+            strings.add(page.headerHint().getBytes(StandardCharsets.UTF_8));
+            strings.add(page.commandCode().getBytes(StandardCharsets.UTF_8));
+            strings.add(page.buttonText().getBytes(StandardCharsets.UTF_8));
+            strings.add(page.footerText().getBytes(StandardCharsets.UTF_8));
+            for (String line : page.lines()) {
+                strings.add(line.getBytes(StandardCharsets.UTF_8));
+            }
+            size += 2 * Integer.BYTES;
+        }
+        for (byte[] bytes : strings) {
+            size += Integer.BYTES + bytes.length;
+        }
+        size += sources.names.length * 2 * Long.BYTES;
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        int next = 0;
+        out.putInt(MAGIC).putInt(VERSION).putInt(sources.names.length);
+        for (int i = 0; i < sources.names.length; i++) {
+            putString(out, strings.get(next++));
+            out.putLong(sources.sizes[i]).putLong(sources.mtimes[i]);
+        }
+        out.put(sources.digest);
+        out.putInt(config.maxLines());
+        out.put((byte) (config.firstJoinPopupEnabled() ? 1 : 0));
+        out.putInt(config.ackFlushBatch());
+        out.putInt(config.ackFlushIntervalMs());
+        out.putInt(config.popupsPerSecond());
+        out.putInt(config.popupBurst());
+        out.putInt(config.popupBacklog());
+        out.put((byte) (config.shardedPages() ? 1 : 0));
+        out.putInt(config.pages().size());
+        for (BetterInfoConfig.InfoPage page : config.pages()) {
+            for (int field = 0; field < 5; field++) {
+                putString(out, strings.get(next++));
+            }
+            out.putInt(page.nextPageIndex());
+            out.putInt(page.lines().size());
+            for (int l = 0; l < page.lines().size(); l++) {
+                putString(out, strings.get(next++));
+            }
+        }
+        try {
+            BetterInfoConfig.write(dataDir.resolve(FILE_NAME), out.array());
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not write " + FILE_NAME + ": " + e.getMessage());
+        }
+    }
+
+    private static void putString(ByteBuffer out, byte[] bytes) {
+        out.putInt(bytes.length).put(bytes);
+    }
+
+    private static int readCount(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalArgumentException("corrupt count " + count);
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("corrupt string length " + length);
+        }
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static final class Sources {
+        private final String[] names;
+        private final long[] sizes;
+        private final long[] mtimes;
+        private final byte[] digest;
+
+        private Sources(String[] names, long[] sizes, long[] mtimes, byte[] digest) {
+            this.names = names;
+            this.sizes = sizes;
+            this.mtimes = mtimes;
+            this.digest = digest;
+        }
+
+        private boolean matches(ByteBuffer in) {
+            if (in.getInt() != names.length) {
+                return false;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (!names[i].equals(readString(in)) || in.getLong() != sizes[i] || in.getLong() != mtimes[i]) {
+                    return false;
+                }
+            }
+            byte[] recorded = new byte[DIGEST_BYTES];
+            in.get(recorded);
+            return Arrays.equals(recorded, digest);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.gillodaby.betterinfo;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the plugin data directory (and its page shard directory, once it exists) and runs
+ * {@code onChange} on the worker once writes to the watched files have been quiet for
+ * {@code debounceMs}.
+ */
+final class ConfigWatcher implements Runnable {
+
+    private final Path directory;
+    private final String fileName;
+    private final String shardDirName;
+    private final ScheduledExecutorService executor;
+    private final long debounceMs;
+    private final Runnable onChange;
+    private WatchService watchService;
+    private Thread thread;
+    private ScheduledFuture<?> pending;
+
+    ConfigWatcher(Path directory, String fileName, String shardDirName, ScheduledExecutorService executor, long debounceMs, Runnable onChange) {
+        this.directory = directory;
+        this.fileName = fileName;
+        this.shardDirName = shardDirName;
+        this.executor = executor;
+        this.debounceMs = debounceMs;
+        this.onChange = onChange;
+    }
+
+    void start() {
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            register(directory);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.out.println("[BetterInfo] Config hot reload disabled: " + e.getMessage());
+            return;
+        }
+        registerShardDir();
+        thread = new Thread(this, "BetterInfo-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+        synchronized (this) {
+            if (pending != null) {
+                pending.cancel(false);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean inShardDir = !directory.equals(key.watchable());
+            boolean touched = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                String name = String.valueOf(event.context());
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    touched = true;
+                } else if (inShardDir) {
+                    touched |= name.endsWith(".yaml");
+                } else if (name.equals(shardDirName)) {
+                    registerShardDir();
+                    touched = true;
+                } else {
+                    touched |= name.equals(fileName);
+                }
+            }
+            if (touched) {
+                schedule();
+            }
+            if (!key.reset()) {
+                if (!inShardDir) {
+                    return;
+                }
+                // The shard directory was deleted or renamed; its key is dropped and the directory
+                // is registered again by the create event once it comes back.
+                schedule();
+            }
+        }
+    }
+
+    private void registerShardDir() {
+        Path shardDir = directory.resolve(shardDirName);
+        if (!Files.isDirectory(shardDir)) {
+            return;
+        }
+        try {
+            register(shardDir);
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not watch " + shardDirName + "/: " + e.getMessage());
+        }
+    }
+
+    private void register(Path dir) throws IOException {
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    private synchronized void schedule() {
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        try {
+            pending = executor.schedule(onChange, debounceMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+}
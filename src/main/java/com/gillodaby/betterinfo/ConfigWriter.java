@@ -0,0 +1,215 @@
+package com.gillodaby.betterinfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes config.yaml (and the page shards when {@code pageStorage: sharded}) on the worker. Saves
+ * submitted while a write is still queued collapse into the newest one. Shards are only rendered
+ * for pages whose instance changed since the last write, and any file whose SHA-256 matches what
+ * is on disk is not written at all. Digests are cached per file and only recomputed when its size
+ * or modification time moves. In sharded mode config.yaml is only rewritten without its pages once
+ * every shard is on disk, so a failed shard write never leaves a page missing from both.
+ */
+final class ConfigWriter {
+
+    private final Executor executor;
+    private final AtomicReference<BetterInfoConfig> latest = new AtomicReference<>();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final Map<Path, FileState> files = new HashMap<>();
+    private BetterInfoConfig.InfoPage[] writtenPages = new BetterInfoConfig.InfoPage[0];
+    private long written;
+    private long unchanged;
+    private long cleanPages;
+
+    ConfigWriter(Executor executor) {
+        this.executor = executor;
+    }
+
+    void submit(BetterInfoConfig config) {
+        if (latest.getAndSet(config) != null) {
+            coalesced.incrementAndGet();
+            return;
+        }
+        try {
+            executor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            flush();
+        }
+    }
+
+    synchronized void flush() {
+        BetterInfoConfig config = latest.getAndSet(null);
+        if (config == null) {
+            return;
+        }
+        if (config.shardedPages()) {
+            if (!writeDirtyShards(config)) {
+                System.out.println("[BetterInfo] Kept the previous " + BetterInfoConfig.FILE_NAME + " because a page shard could not be written.");
+                return;
+            }
+            removeStaleShards(config);
+        } else {
+            writtenPages = new BetterInfoConfig.InfoPage[0];
+        }
+        writeIfChanged(BetterInfoConfig.path(config), BetterInfoConfig.render(config));
+    }
+
+    /**
+     * Records the file now at {@code path} as written by the plugin, for files moved into place
+     * rather than written through {@link #submit}.
+     */
+    synchronized void adopt(Path path) {
+        files.put(path, FileState.read(path));
+    }
+
+    /**
+     * True when config.yaml and, in sharded mode, every page shard still hold exactly what this writer last wrote or
+     * verified, so a change notification for them is an echo of our own save.
+     */
+    synchronized boolean wroteCurrentFiles(BetterInfoConfig config) {
+        if (!matchesLastWrite(BetterInfoConfig.path(config))) {
+            return false;
+        }
+        if (!config.shardedPages()) {
+            return true;
+        }
+        for (Path shard : BetterInfoConfig.shardFiles(config.dataDir())) {
+            if (!matchesLastWrite(shard)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized String describe() {
+        return "Config saves: " + written + " file(s) written, " + unchanged + " unchanged, "
+            + cleanPages + " clean page(s) skipped, " + coalesced.get() + " coalesced";
+    }
+
+    /**
+     * Returns false when any shard could not be written; the pages that did land are remembered,
+     * so the next save only retries the rest.
+     */
+    private boolean writeDirtyShards(BetterInfoConfig config) {
+        List<BetterInfoConfig.InfoPage> pages = config.pages();
+        if (writtenPages.length != pages.size()) {
+            writtenPages = Arrays.copyOf(writtenPages, pages.size());
+        }
+        boolean complete = true;
+        for (int i = 0; i < pages.size(); i++) {
+            BetterInfoConfig.InfoPage page = pages.get(i);
+            if (writtenPages[i] == page) {
+                cleanPages++;
+                continue;
+            }
+            if (writeIfChanged(BetterInfoConfig.shardPath(config, i), BetterInfoConfig.renderShard(config, i))) {
+                writtenPages[i] = page;
+            } else {
+                complete = false;
+            }
+        }
+        return complete;
+    }
+
+    private void removeStaleShards(BetterInfoConfig config) {
+        int pageCount = config.pages().size();
+        for (Path stale : BetterInfoConfig.shardFiles(config.dataDir())) {
+            if (BetterInfoConfig.shardIndex(stale) >= pageCount) {
+                try {
+                    Files.deleteIfExists(stale);
+                    files.remove(stale);
+                } catch (IOException e) {
+                    System.out.println("[BetterInfo] Could not remove " + stale.getFileName() + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean matchesLastWrite(Path path) {
+        FileState state = files.get(path);
+        if (state == null || state.digest == null) {
+            return false;
+        }
+        return state.matchesDisk(path) || Arrays.equals(state.digest, FileState.read(path).digest);
+    }
+
+    private boolean writeIfChanged(Path path, byte[] content) {
+        byte[] digest = sha256(content);
+        FileState state = files.get(path);
+        if (state == null || !state.matchesDisk(path)) {
+            state = FileState.read(path);
+            files.put(path, state);
+        }
+        if (Arrays.equals(digest, state.digest)) {
+            unchanged++;
+            return true;
+        }
+        try {
+            BetterInfoConfig.write(path, content);
+            files.put(path, FileState.of(path, digest));
+            written++;
+            return true;
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not write " + path.getFileName() + ": " + e.getMessage());
+            files.remove(path);
+            return false;
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class FileState {
+        private final byte[] digest;
+        private final long size;
+        private final FileTime modified;
+
+        private FileState(byte[] digest, long size, FileTime modified) {
+            this.digest = digest;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        static FileState read(Path path) {
+            try {
+                return of(path, sha256(Files.readAllBytes(path)));
+            } catch (IOException e) {
+                return new FileState(null, -1, null);
+            }
+        }
+
+        static FileState of(Path path, byte[] digest) {
+            try {
+                return new FileState(digest, Files.size(path), Files.getLastModifiedTime(path));
+            } catch (IOException e) {
+                return new FileState(null, -1, null);
+            }
+        }
+
+        boolean matchesDisk(Path path) {
+            try {
+                return Files.size(path) == size && Files.getLastModifiedTime(path).equals(modified);
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
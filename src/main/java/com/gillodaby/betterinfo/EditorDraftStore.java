@@ -0,0 +1,263 @@
+package com.gillodaby.betterinfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autosaves each editor's working pages to editor-drafts/&lt;player uuid&gt;.yaml on the worker once
+ * its edits have been quiet for {@code debounceMs}. A draft is written in config.yaml form, so with
+ * single-file page storage a save whose pages match that editor's last written draft moves it over
+ * config.yaml instead of rendering the config again. A sidecar .base file records a digest of the
+ * saved page each draft page descends from, so a restore never overlays a page that has been saved
+ * again since.
+ */
+final class EditorDraftStore {
+
+    static final String DIRECTORY = "editor-drafts";
+
+    private final Path dataDir;
+    private final Path directory;
+    private final ScheduledExecutorService executor;
+    private final long debounceMs;
+    private final Map<UUID, Draft> drafts = new HashMap<>();
+    private long writes;
+    private long reused;
+
+    EditorDraftStore(Path dataDir, ScheduledExecutorService executor, long debounceMs) {
+        this.dataDir = dataDir;
+        this.directory = dataDir.resolve(DIRECTORY);
+        this.executor = executor;
+        this.debounceMs = debounceMs;
+    }
+
+    /**
+     * {@code bases} holds, per draft page, the saved page it descends from, or null for a page
+     * that was not saved yet.
+     */
+    synchronized void schedule(UUID owner, BetterInfoConfig draft, List<BetterInfoConfig.InfoPage> bases) {
+        Draft entry = drafts.computeIfAbsent(owner, id -> new Draft());
+        entry.pending = draft;
+        entry.pendingBases = bases;
+        if (entry.scheduled != null) {
+            entry.scheduled.cancel(false);
+        }
+        try {
+            entry.scheduled = executor.schedule(() -> flush(owner), debounceMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            entry.scheduled = null;
+        }
+    }
+
+    synchronized void flush() {
+        for (UUID owner : new ArrayList<>(drafts.keySet())) {
+            flush(owner);
+        }
+    }
+
+    private synchronized void flush(UUID owner) {
+        Draft entry = drafts.get(owner);
+        if (entry == null || entry.pending == null) {
+            return;
+        }
+        BetterInfoConfig draft = entry.pending;
+        List<BetterInfoConfig.InfoPage> bases = entry.pendingBases;
+        entry.pending = null;
+        entry.pendingBases = null;
+        entry.scheduled = null;
+        try {
+            Files.createDirectories(directory);
+            BetterInfoConfig.write(basesPath(owner), renderBases(bases));
+            BetterInfoConfig.write(draftPath(owner), BetterInfoConfig.render(draft, true));
+            entry.written = draft;
+            entry.writtenBases = bases;
+            writes++;
+        } catch (IOException e) {
+            entry.written = null;
+            entry.writtenBases = null;
+            System.out.println("[BetterInfo] Could not write editor draft for " + owner + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the draft {@code owner} left behind by an unclean shutdown or an editor that was
+     * dismissed without saving, or null when there is none or it matches {@code saved}. A draft
+     * page is only offered while the saved page is still the one it descends from; the others are
+     * listed as conflicts.
+     */
+    synchronized Restored restore(UUID owner, List<BetterInfoConfig.InfoPage> saved) {
+        try {
+            List<BetterInfoConfig.InfoPage> pages;
+            List<String> bases;
+            Draft entry = drafts.get(owner);
+            if (entry != null && (entry.pending != null || entry.written != null)) {
+                pages = (entry.pending != null ? entry.pending : entry.written).pages();
+                bases = digests(entry.pending != null ? entry.pendingBases : entry.writtenBases);
+            } else if (Files.isRegularFile(draftPath(owner))) {
+                pages = BetterInfoConfig.readFile(dataDir, draftPath(owner)).pages();
+                Path basesPath = basesPath(owner);
+                bases = Files.isRegularFile(basesPath) ? Files.readAllLines(basesPath, StandardCharsets.UTF_8) : List.of();
+            } else {
+                return null;
+            }
+            List<BetterInfoConfig.InfoPage> overlay = new ArrayList<>(pages.size());
+            List<Integer> conflicts = new ArrayList<>();
+            boolean restored = false;
+            for (int i = 0; i < pages.size(); i++) {
+                BetterInfoConfig.InfoPage page = pages.get(i);
+                BetterInfoConfig.InfoPage current = i < saved.size() ? saved.get(i) : null;
+                if (page.equals(current)) {
+                    overlay.add(null);
+                    continue;
+                }
+                String base = i < bases.size() ? bases.get(i) : null;
+                if (base != null && base.equals(current == null ? "" : digest(current))) {
+                    overlay.add(page);
+                    restored = true;
+                } else {
+                    overlay.add(null);
+                    conflicts.add(i);
+                }
+            }
+            if (restored || !conflicts.isEmpty()) {
+                return new Restored(overlay, conflicts);
+            }
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not read editor draft for " + owner + ": " + e.getMessage());
+        }
+        discard(owner);
+        return null;
+    }
+
+    /**
+     * Moves {@code owner}'s draft over config.yaml when it was written for exactly {@code config}.
+     * Returns false, after dropping that draft, when the caller has to write config.yaml itself.
+     */
+    synchronized boolean commit(UUID owner, BetterInfoConfig config) {
+        Draft entry = drafts.get(owner);
+        boolean reusable = entry != null && !config.shardedPages() && entry.pending == null && entry.written != null
+            && entry.written.sameSettings(config) && samePages(entry.written.pages(), config.pages());
+        if (!reusable) {
+            discard(owner);
+            return false;
+        }
+        Path target = BetterInfoConfig.path(config);
+        try {
+            try {
+                Files.move(draftPath(owner), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(draftPath(owner), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            reused++;
+            discard(owner);
+            return true;
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not move the editor draft into place: " + e.getMessage());
+            discard(owner);
+            return false;
+        }
+    }
+
+    synchronized void discard(UUID owner) {
+        Draft entry = drafts.remove(owner);
+        if (entry != null && entry.scheduled != null) {
+            entry.scheduled.cancel(false);
+        }
+        try {
+            Files.deleteIfExists(draftPath(owner));
+            Files.deleteIfExists(basesPath(owner));
+        } catch (IOException e) {
+            System.out.println("[BetterInfo] Could not remove editor draft for " + owner + ": " + e.getMessage());
+        }
+    }
+
+    synchronized String describe() {
+        return "Editor drafts: " + drafts.size() + " open, " + writes + " autosave(s), " + reused + " save(s) reused the draft";
+    }
+
+    private Path draftPath(UUID owner) {
+        return directory.resolve(owner + ".yaml");
+    }
+
+    private Path basesPath(UUID owner) {
+        return directory.resolve(owner + ".base");
+    }
+
+    private static byte[] renderBases(List<BetterInfoConfig.InfoPage> bases) {
+        StringBuilder out = new StringBuilder();
+        for (String digest : digests(bases)) {
+            out.append(digest).append('\n');
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> digests(List<BetterInfoConfig.InfoPage> bases) {
+        List<String> out = new ArrayList<>(bases.size());
+        for (BetterInfoConfig.InfoPage base : bases) {
+            out.add(base != null ? digest(base) : "");
+        }
+        return out;
+    }
+
+    private static String digest(BetterInfoConfig.InfoPage page) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(sha, page.title());
+        update(sha, page.headerHint());
+        update(sha, page.commandCode());
+        update(sha, page.buttonText());
+        update(sha, page.footerText());
+        update(sha, String.valueOf(page.nextPageIndex()));
+        for (String line : page.lines()) {
+            update(sha, line);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sha.digest());
+    }
+
+    private static void update(MessageDigest sha, String value) {
+        sha.update(value.getBytes(StandardCharsets.UTF_8));
+        sha.update((byte) 0);
+    }
+
+    private static boolean samePages(List<BetterInfoConfig.InfoPage> a, List<BetterInfoConfig.InfoPage> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (a.get(i) != b.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Draft pages to show instead of the live ones (null where the live page stays), and the conflicts. */
+    record Restored(List<BetterInfoConfig.InfoPage> pages, List<Integer> conflicts) {}
+
+    private static final class Draft {
+        private BetterInfoConfig pending;
+        private List<BetterInfoConfig.InfoPage> pendingBases;
+        private BetterInfoConfig written;
+        private List<BetterInfoConfig.InfoPage> writtenBases;
+        private ScheduledFuture<?> scheduled;
+    }
+}
@@ -6,6 +6,7 @@ import com.hypixel.hytale.server.core.command.system.CommandSender;
 import com.hypixel.hytale.server.core.command.system.arguments.types.ArgTypes;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -16,6 +17,7 @@ import java.util.concurrent.CompletableFuture;
  * /info add <text...>
  * /info remove <index>
  * /info save
+ * /info stats
  */
 final class InfoCommand extends AbstractCommand {
 
@@ -48,7 +50,7 @@ final class InfoCommand extends AbstractCommand {
         };
         addSubCommand(list);
 
-        String indexRangeDescription = "info line index (1-" + BetterInfoHud.MAX_LINES + ")";
+        String indexRangeDescription = "info line index (starting at 1)";
 
         // set <index> <text...>
         AbstractCommand set = new AbstractCommand("set", "Set an info line") {
@@ -98,6 +100,15 @@ final class InfoCommand extends AbstractCommand {
         };
         addSubCommand(save);
 
+        // stats
+        AbstractCommand stats = new AbstractCommand("stats", "Show Better Info runtime stats") {
+            @Override
+            protected CompletableFuture<Void> execute(CommandContext ctx) {
+                return handleStats(ctx);
+            }
+        };
+        addSubCommand(stats);
+
         // help
         AbstractCommand help = new AbstractCommand("help", "Show info command help") {
             @Override
@@ -146,8 +157,11 @@ final class InfoCommand extends AbstractCommand {
         if (!requireAnyPermission(ctx, "betterinfo.reload", "betterinfo.admin")) {
             return CompletableFuture.completedFuture(null);
         }
-        service.reloadConfig();
+        List<Integer> discarded = service.reloadConfig();
         ctx.sendMessage(service.text("[BetterInfo] Reloaded config."));
+        if (!discarded.isEmpty()) {
+            ctx.sendMessage(service.text("[BetterInfo] Discarded unsaved changes on " + BetterInfoService.describePages(discarded) + "."));
+        }
         return CompletableFuture.completedFuture(null);
     }
 
@@ -170,8 +184,9 @@ final class InfoCommand extends AbstractCommand {
             return CompletableFuture.completedFuture(null);
         }
         Integer idx = ctx.get(setIndexArg);
-        if (idx == null || idx < 1 || idx > BetterInfoHud.MAX_LINES) {
-            ctx.sendMessage(service.text("Index must be between 1 and " + BetterInfoHud.MAX_LINES));
+        int maxIndex = service.infoLines().size() + 1;
+        if (idx == null || idx < 1 || idx > maxIndex) {
+            ctx.sendMessage(service.text("Index must be between 1 and " + maxIndex));
             return CompletableFuture.completedFuture(null);
         }
         String value = parseTextAfter(ctx.getInputString(), 3);
@@ -193,11 +208,7 @@ final class InfoCommand extends AbstractCommand {
             ctx.sendMessage(service.text("Usage: /info add <text>"));
             return CompletableFuture.completedFuture(null);
         }
-        boolean ok = service.addInfoLine(value);
-        if (!ok) {
-            ctx.sendMessage(service.text("Cannot add more than " + BetterInfoHud.MAX_LINES + " info lines."));
-            return CompletableFuture.completedFuture(null);
-        }
+        service.addInfoLine(value);
         ctx.sendMessage(service.text("Added info line: " + value));
         return CompletableFuture.completedFuture(null);
     }
@@ -224,8 +235,8 @@ final class InfoCommand extends AbstractCommand {
             return CompletableFuture.completedFuture(null);
         }
         Integer idx = ctx.get(removeIndexArg);
-        if (idx == null || idx < 1 || idx > BetterInfoHud.MAX_LINES) {
-            ctx.sendMessage(service.text("Index must be between 1 and " + BetterInfoHud.MAX_LINES));
+        if (idx == null || idx < 1) {
+            ctx.sendMessage(service.text("Index must be 1 or higher"));
             return CompletableFuture.completedFuture(null);
         }
         boolean ok = service.removeInfoLine(idx - 1);
@@ -246,6 +257,14 @@ final class InfoCommand extends AbstractCommand {
         return CompletableFuture.completedFuture(null);
     }
 
+    private CompletableFuture<Void> handleStats(CommandContext ctx) {
+        if (!requireAnyPermission(ctx, "betterinfo.stats", "betterinfo.admin")) {
+            return CompletableFuture.completedFuture(null);
+        }
+        ctx.sendMessage(service.text(service.describeStats()));
+        return CompletableFuture.completedFuture(null);
+    }
+
     private CompletableFuture<Void> handleHelp(CommandContext ctx) {
         if (!requireAnyPermission(ctx, "betterinfo.help", "betterinfo.admin")) {
             return CompletableFuture.completedFuture(null);
@@ -259,7 +278,8 @@ final class InfoCommand extends AbstractCommand {
             "/info add <text>",
             "/info remove <index>",
             "/info editor",
-            "/info save"
+            "/info save",
+            "/info stats"
         );
         ctx.sendMessage(service.text(help));
         return CompletableFuture.completedFuture(null);
@@ -15,28 +15,80 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.EditorEventData> {
 
+    private static final int PAGE_TABS = 12;
+    private static final int LINE_ROWS = BetterInfoConfig.UI_LINE_SLOTS;
+    private static final String DEFAULT_TITLE_COLOR = "#f6f8ff";
+    private static final String DEFAULT_STATUS = "Add or edit lines, then click Apply.";
+    private static final String VIEW_TOKEN = "#ViewToken.Text";
+
+    private static final int FIELD_TITLE = 0;
+    private static final int FIELD_TITLE_COLOR = 1;
+    private static final int FIELD_HEADER_HINT = 2;
+    private static final int FIELD_COMMAND_CODE = 3;
+    private static final int FIELD_BUTTON_TEXT = 4;
+    private static final int FIELD_FOOTER_TEXT = 5;
+    private static final int FIELD_NEXT_PAGE = 6;
+    private static final int FIRST_LINE_FIELD = 7;
+    private static final int FIRST_COLOR_FIELD = FIRST_LINE_FIELD + LINE_ROWS;
+    private static final int FIELD_COUNT = FIRST_COLOR_FIELD + LINE_ROWS;
+
+    private static final String[] FIELD_ELEMENTS = new String[FIELD_COUNT];
+    private static final String[] FIELD_VALUES = new String[FIELD_COUNT];
+    private static final String[] FIELD_IDS = new String[FIELD_COUNT];
+    private static final String[] LINE_INDEX_LABELS = new String[LINE_ROWS];
+    private static final String[] PAGE_BUTTON_TEXTS = new String[PAGE_TABS];
+    private static final String[] PAGE_BUTTON_VISIBLE = new String[PAGE_TABS];
+
+    static {
+        FIELD_ELEMENTS[FIELD_TITLE] = "#TitleInput";
+        FIELD_ELEMENTS[FIELD_TITLE_COLOR] = "#TitleColorHex";
+        FIELD_ELEMENTS[FIELD_HEADER_HINT] = "#HeaderHintInput";
+        FIELD_ELEMENTS[FIELD_COMMAND_CODE] = "#CommandCodeInput";
+        FIELD_ELEMENTS[FIELD_BUTTON_TEXT] = "#ButtonTextInput";
+        FIELD_ELEMENTS[FIELD_FOOTER_TEXT] = "#FooterTextInput";
+        FIELD_ELEMENTS[FIELD_NEXT_PAGE] = "#NextPageInput";
+        for (int i = 0; i < LINE_ROWS; i++) {
+            LINE_INDEX_LABELS[i] = "#Line" + (i + 1) + "Index.Text";
+            FIELD_ELEMENTS[FIRST_LINE_FIELD + i] = "#Line" + (i + 1) + "Input";
+            FIELD_ELEMENTS[FIRST_COLOR_FIELD + i] = "#Line" + (i + 1) + "Color";
+        }
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            FIELD_VALUES[i] = FIELD_ELEMENTS[i] + ".Value";
+            FIELD_IDS[i] = String.valueOf(i);
+        }
+        for (int i = 0; i < PAGE_TABS; i++) {
+            PAGE_BUTTON_TEXTS[i] = "#Page" + (i + 1) + "Button.Text";
+            PAGE_BUTTON_VISIBLE[i] = "#Page" + (i + 1) + "Button.Visible";
+        }
+    }
+
     private final PlayerRef playerRef;
+    private final UUID owner;
     private final BetterInfoService service;
     private BetterInfoConfig config;
     private final List<PageDraft> pages = new ArrayList<>();
     private int currentPageIndex;
+    private int lineWindow;
+    private String status;
+    private final Map<String, Object> shown = new HashMap<>();
 
-    InfoEditorPage(PlayerRef playerRef, BetterInfoService service, BetterInfoConfig config, List<BetterInfoConfig.InfoPage> pages, int activePageIndex) {
+    InfoEditorPage(PlayerRef playerRef, BetterInfoService service, PageSnapshot snapshot, EditorDraftStore.Restored restored) {
         super(playerRef, CustomPageLifetime.CanDismissOrCloseThroughInteraction, EditorEventData.CODEC);
         this.playerRef = playerRef;
+        this.owner = playerRef.getUuid();
         this.service = service;
-        this.config = config;
-        if (pages != null) {
-            for (BetterInfoConfig.InfoPage page : pages) {
-                this.pages.add(PageDraft.from(page));
-            }
-        }
-        ensurePageCapacity();
-        this.currentPageIndex = Math.max(0, Math.min(BetterInfoConfig.MAX_PAGES - 1, activePageIndex));
+        this.status = restored != null ? describeRestored(restored) : DEFAULT_STATUS;
+        loadDrafts(snapshot, restored != null ? restored.pages() : null);
+        this.currentPageIndex = snapshot.editorPageIndex();
+        ensurePageCapacity(currentPageIndex);
     }
 
     @Override
@@ -44,109 +96,92 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
         builder.append("Pages/GilloDaby_BetterInfoEditor.ui");
         builder.set("#EditorRoot.Visible", true);
         builder.set("#PlaceholderHint.Text", "Use [#rrggbb] at the start of a segment to color it");
-        builder.set("#LimitHint.Text", "Max info lines shown per page: " + BetterInfoConfig.HARD_MAX_LINES);
-        builder.set("#ColorHint.Text", "Each page supports a title and up to " + BetterInfoConfig.HARD_MAX_LINES + " color-aware info lines");
+        builder.set("#LimitHint.Text", "Info lines shown per screen: " + config.maxLines() + " (longer pages get Previous/Next buttons)");
+        builder.set("#ColorHint.Text", "Each page supports a title and any number of color-aware info lines, " + LINE_ROWS + " per editor screen");
+        shown.clear();
         populatePageFields(builder);
 
-        EventData apply = new EventData().append("Action", "apply");
-        EventData save = new EventData().append("Action", "save");
-        EventData reload = new EventData().append("Action", "reload");
-        EventData close = new EventData().append("Action", "close");
-        List<EventData> pageEvents = new ArrayList<>();
-        for (int i = 1; i <= BetterInfoConfig.MAX_PAGES; i++) {
-            pageEvents.add(new EventData().append("Action", "page" + i));
-        }
-
-        appendSharedField(apply, save, pageEvents, "@Title", "#TitleInput.Value");
-        appendSharedField(apply, save, pageEvents, "@TitleColorHex", "#TitleColorHex.Value");
-        appendSharedField(apply, save, pageEvents, "@HeaderHint", "#HeaderHintInput.Value");
-        appendSharedField(apply, save, pageEvents, "@CommandCode", "#CommandCodeInput.Value");
-        appendSharedField(apply, save, pageEvents, "@ButtonText", "#ButtonTextInput.Value");
-        appendSharedField(apply, save, pageEvents, "@FooterText", "#FooterTextInput.Value");
-        appendSharedField(apply, save, pageEvents, "@NextPage", "#NextPageInput.Value");
-
-        for (int i = 0; i < BetterInfoConfig.HARD_MAX_LINES; i++) {
-            String lineKey = "@Line" + (i + 1);
-            String lineSelector = "#Line" + (i + 1) + "Input.Value";
-            String colorKey = "@ColorHex" + (i + 1);
-            String colorSelector = "#Line" + (i + 1) + "Color.Value";
-            apply.append(lineKey, lineSelector);
-            save.append(lineKey, lineSelector);
-            for (EventData pageEvent : pageEvents) {
-                pageEvent.append(lineKey, lineSelector);
-            }
-            apply.append(colorKey, colorSelector);
-            save.append(colorKey, colorSelector);
-            for (EventData pageEvent : pageEvents) {
-                pageEvent.append(colorKey, colorSelector);
-            }
+        bindAction(events, "#ApplyButton", "apply");
+        bindAction(events, "#SaveButton", "save");
+        bindAction(events, "#ReloadButton", "reload");
+        bindAction(events, "#CloseButton", "close");
+        for (int i = 1; i <= PAGE_TABS; i++) {
+            bindAction(events, "#Page" + i + "Button", "page" + i);
         }
+        bindAction(events, "#PagesPrevButton", "pagesPrev");
+        bindAction(events, "#PagesNextButton", "pagesNext");
+        bindAction(events, "#LinesPrevButton", "linesPrev");
+        bindAction(events, "#LinesNextButton", "linesNext");
 
-        events.addEventBinding(CustomUIEventBindingType.Activating, "#ApplyButton", apply, false);
-        events.addEventBinding(CustomUIEventBindingType.Activating, "#SaveButton", save, false);
-        events.addEventBinding(CustomUIEventBindingType.Activating, "#ReloadButton", reload, false);
-        events.addEventBinding(CustomUIEventBindingType.Activating, "#CloseButton", close, false);
-        for (int i = 1; i <= BetterInfoConfig.MAX_PAGES; i++) {
-            String selector = "#Page" + i + "Button";
-            events.addEventBinding(CustomUIEventBindingType.Activating, selector, pageEvents.get(i - 1), false);
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            bindField(events, field);
         }
     }
 
+    private void bindAction(UIEventBuilder events, String selector, String action) {
+        events.addEventBinding(CustomUIEventBindingType.Activating, selector, new EventData().append("Action", action), false);
+    }
+
+    /**
+     * Each input reports only its own value when it changes, so actions carry no form data and the
+     * draft is updated one field at a time. The event also reads the hidden view token, so a change
+     * made before a page or line window switch reached the client is not applied to the new view.
+     */
+    private void bindField(UIEventBuilder events, int field) {
+        EventData change = new EventData().append("Action", "field").append("Field", FIELD_IDS[field])
+            .append("@Value", FIELD_VALUES[field]).append("@View", VIEW_TOKEN);
+        events.addEventBinding(CustomUIEventBindingType.ValueChanged, FIELD_ELEMENTS[field], change, false);
+    }
+
     @Override
     public void handleDataEvent(Ref<EntityStore> ref, Store<EntityStore> store, EditorEventData data) {
         if (data == null || data.action == null) {
             return;
         }
-        EditorSubmission submission = collect(data);
         switch (data.action) {
-            case "apply" -> {
-                updateDraft(submission);
-                service.applyEditorUpdate(currentPageIndex, buildUpdatedPages());
-            }
-            case "save" -> {
-                updateDraft(submission);
-                service.applyEditorUpdate(currentPageIndex, buildUpdatedPages());
-                service.saveConfig();
-                close();
+            case "field" -> {
+                if (viewToken().equals(data.view)) {
+                    mergeField(data.field(), data.value);
+                }
             }
+            case "apply" -> applyEdits(false);
+            case "save" -> applyEdits(true);
             case "reload" -> {
-                service.reloadConfig();
+                service.discardEditorDraft(owner);
+                List<Integer> conflicts = service.mergeConfigFromDisk();
                 reloadFromService();
+                if (!conflicts.isEmpty()) {
+                    status = "Kept unsaved changes on " + BetterInfoService.describePages(conflicts) + " that also changed on disk.";
+                    refreshPageUI();
+                }
+            }
+            case "close" -> {
+                service.discardEditorDraft(owner);
+                close();
+            }
+            case "pagesPrev", "pagesNext" -> {
+                int tabWindow = currentPageIndex / PAGE_TABS + ("pagesNext".equals(data.action) ? 1 : -1);
+                if (tabWindow >= 0 && tabWindow * PAGE_TABS <= pages.size()) {
+                    selectPage(tabWindow * PAGE_TABS);
+                }
+                refreshPageUI();
+            }
+            case "linesPrev", "linesNext" -> {
+                int window = lineWindow + ("linesNext".equals(data.action) ? 1 : -1);
+                if (window >= 0 && window * LINE_ROWS <= currentPage().lines.size()) {
+                    lineWindow = window;
+                }
+                refreshPageUI();
             }
-            case "close" -> close();
             default -> {
                 if (data.action.startsWith("page")) {
-                    updateDraft(submission);
-                    currentPageIndex = parsePageIndex(data.action);
+                    selectPage(parsePageIndex(data.action));
                     refreshPageUI();
                 }
             }
         }
     }
 
-    private EditorSubmission collect(EditorEventData data) {
-        List<String> values = new ArrayList<>();
-        for (int i = 0; i < BetterInfoConfig.HARD_MAX_LINES; i++) {
-            String color = resolveColor(data.color(i));
-            String text = data.line(i);
-            values.add(encodeLine(color, text));
-        }
-        String headerHint = safe(data.headerHint).trim();
-        String commandCode = sanitizeCommandCode(data.commandCode);
-        String buttonText = safe(data.buttonText).isEmpty() ? BetterInfoConfig.DEFAULT_BUTTON_TEXT : safe(data.buttonText);
-        String footerText = safe(data.footerText).trim();
-        int nextPageIndex = parseNextPageIndex(data.nextPage);
-        return new EditorSubmission(
-                encodeTitle(resolveColor(data.titleColorHex), safe(data.title)),
-                values,
-                headerHint,
-                commandCode,
-                buttonText,
-                footerText,
-                nextPageIndex
-        );
-    }
-
     private String safe(String value) {
         return value != null ? value : "";
     }
@@ -173,7 +208,7 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
         }
         try {
             int value = Integer.parseInt(trimmed) - 1;
-            if (value < 0 || value >= BetterInfoConfig.MAX_PAGES) {
+            if (value < 0 || value >= BetterInfoConfig.MAX_PAGE_NUMBER) {
                 return -1;
             }
             return value;
@@ -236,33 +271,171 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
         return sanitized;
     }
 
-    private void updateDraft(EditorSubmission submission) {
+    private void mergeField(int field, String value) {
+        if (field < 0 || field >= FIELD_COUNT || value == null) {
+            return;
+        }
+        shown.put(FIELD_VALUES[field], value);
         PageDraft current = currentPage();
-        current.title = submission.title();
-        current.lines = trimTrailingEmpty(submission.lines());
-        current.headerHint = submission.headerHint();
-        current.commandCode = submission.commandCode();
-        current.buttonText = submission.buttonText();
-        current.footerText = submission.footerText();
-        current.nextPage = submission.nextPageIndex();
+        switch (field) {
+            case FIELD_TITLE, FIELD_TITLE_COLOR -> {
+                LineParts parts = parseLine(current.title);
+                String text = field == FIELD_TITLE ? value : parts.text();
+                String color = field == FIELD_TITLE_COLOR ? resolveColor(value) : parts.color();
+                if (parts.color().isEmpty() && color.equals(DEFAULT_TITLE_COLOR)) {
+                    color = "";
+                }
+                current.title = current.changed(current.title, encodeTitle(color, text));
+            }
+            case FIELD_HEADER_HINT -> current.headerHint = current.changed(current.headerHint, value.trim());
+            case FIELD_COMMAND_CODE -> current.commandCode = current.changed(current.commandCode, sanitizeCommandCode(value));
+            case FIELD_BUTTON_TEXT -> current.buttonText = current.changed(current.buttonText, value.isEmpty() ? BetterInfoConfig.DEFAULT_BUTTON_TEXT : value);
+            case FIELD_FOOTER_TEXT -> current.footerText = current.changed(current.footerText, value.trim());
+            case FIELD_NEXT_PAGE -> {
+                int nextPage = parseNextPageIndex(value);
+                if (nextPage != current.nextPage) {
+                    current.nextPage = nextPage;
+                    current.dirty = true;
+                }
+            }
+            default -> {
+                int offset = lineWindow * LINE_ROWS;
+                if (field < FIRST_COLOR_FIELD) {
+                    mergeLine(current, offset + field - FIRST_LINE_FIELD, value, null);
+                } else {
+                    mergeLine(current, offset + field - FIRST_COLOR_FIELD, null, resolveColor(value));
+                }
+            }
+        }
+        if (current.dirty) {
+            List<BetterInfoConfig.InfoPage> updated = buildUpdatedPages();
+            List<BetterInfoConfig.InfoPage> bases = new ArrayList<>(updated.size());
+            for (PageDraft draft : pages.subList(0, updated.size())) {
+                bases.add(draft.saved);
+            }
+            service.scheduleEditorDraft(owner, updated, bases);
+        }
+    }
+
+    private void mergeLine(PageDraft draft, int index, String text, String color) {
+        LineParts parts = index < draft.lines.size() ? parseLine(draft.lines.get(index)) : new LineParts("", "");
+        String pendingColor = draft.pendingColors.get(index);
+        String resolvedColor = color != null ? color : !parts.color().isEmpty() || pendingColor == null ? parts.color() : pendingColor;
+        String encoded = encodeLine(resolvedColor, text != null ? text : parts.text());
+        if (encoded.isEmpty() && !resolvedColor.isEmpty()) {
+            draft.pendingColors.put(index, resolvedColor);
+        } else {
+            draft.pendingColors.remove(index);
+        }
+        String existing = index < draft.lines.size() ? draft.lines.get(index) : "";
+        if (encoded.equals(existing)) {
+            return;
+        }
+        while (draft.lines.size() <= index) {
+            draft.lines.add("");
+        }
+        draft.lines.set(index, encoded);
+        while (!draft.lines.isEmpty() && draft.lines.get(draft.lines.size() - 1).isEmpty()) {
+            draft.lines.remove(draft.lines.size() - 1);
+        }
+        draft.dirty = true;
     }
 
     private List<BetterInfoConfig.InfoPage> buildUpdatedPages() {
-        List<BetterInfoConfig.InfoPage> updated = new ArrayList<>();
-        for (PageDraft draft : pages) {
-            updated.add(new BetterInfoConfig.InfoPage(
-                    draft.title,
-                    new ArrayList<>(draft.lines),
-                    draft.headerHint,
-                    draft.commandCode,
-                    draft.buttonText,
-                    draft.footerText,
-                    draft.nextPage
-            ));
+        int count = pages.size();
+        while (count > BetterInfoConfig.DEFAULT_PAGE_COUNT && isUntouched(pages.get(count - 1), count)) {
+            count--;
+        }
+        List<BetterInfoConfig.InfoPage> updated = new ArrayList<>(count);
+        for (PageDraft draft : pages.subList(0, count)) {
+            if (draft.dirty || draft.source == null) {
+                draft.source = new BetterInfoConfig.InfoPage(
+                        draft.title,
+                        new ArrayList<>(draft.lines),
+                        draft.headerHint,
+                        draft.commandCode,
+                        draft.buttonText,
+                        draft.footerText,
+                        draft.nextPage
+                );
+                draft.dirty = false;
+            }
+            updated.add(draft.source);
         }
         return updated;
     }
 
+    /**
+     * Sends only the pages this editor changed, each stamped with the version it was based on.
+     * Pages someone else replaced in the meantime come back as conflicts: they keep this editor's
+     * text but are rebased, so applying again overwrites them deliberately. Unedited pages pick up
+     * whatever the other editors applied.
+     */
+    private void applyEdits(boolean save) {
+        List<BetterInfoConfig.InfoPage> updated = buildUpdatedPages();
+        List<PageSnapshot.PageEdit> edits = new ArrayList<>();
+        for (int i = 0; i < updated.size(); i++) {
+            PageDraft draft = pages.get(i);
+            if (updated.get(i) != draft.base) {
+                edits.add(new PageSnapshot.PageEdit(i, draft.baseVersion, updated.get(i)));
+            }
+        }
+        List<Integer> removals = new ArrayList<>();
+        for (int i = updated.size(); i < pages.size(); i++) {
+            PageDraft draft = pages.get(i);
+            if (draft.base != null) {
+                edits.add(new PageSnapshot.PageEdit(i, draft.baseVersion, null));
+                removals.add(i);
+            }
+        }
+        List<Integer> conflicts = save
+            ? service.saveEditorEdits(owner, currentPageIndex, edits)
+            : service.applyEditorEdits(currentPageIndex, edits);
+        conflicts.removeIf(i -> !pages.get(i).dirty && pages.get(i).source == pages.get(i).base);
+        if (save && conflicts.isEmpty()) {
+            close();
+            return;
+        }
+        PageSnapshot snapshot = service.pageSnapshot();
+        config = snapshot.config();
+        List<BetterInfoConfig.InfoPage> live = snapshot.pages();
+        for (int i = 0; i < live.size(); i++) {
+            BetterInfoConfig.InfoPage page = live.get(i);
+            if (i >= pages.size()) {
+                pages.add(PageDraft.from(page).rebase(page, snapshot.version(i), service.savedPage(i)));
+                continue;
+            }
+            PageDraft draft = pages.get(i);
+            if (conflicts.contains(i) || draft.source == page) {
+                draft.rebase(page, snapshot.version(i), service.savedPage(i));
+            } else if (removals.contains(i) || !draft.dirty && (draft.source == draft.base || page.equals(draft.source))) {
+                pages.set(i, PageDraft.from(page).rebase(page, snapshot.version(i), service.savedPage(i)));
+            }
+        }
+        for (int i = live.size(); i < pages.size(); i++) {
+            pages.get(i).rebase(null, PageSnapshot.NEW_PAGE, null);
+        }
+        lineWindow = Math.min(lineWindow, currentPage().lines.size() / LINE_ROWS);
+        status = conflicts.isEmpty() ? DEFAULT_STATUS : describeConflicts(conflicts, save ? "Save" : "Apply");
+        refreshPageUI();
+    }
+
+    private String describeConflicts(List<Integer> conflicts, String verb) {
+        StringBuilder numbers = new StringBuilder();
+        for (int i = 0; i < conflicts.size(); i++) {
+            numbers.append(i == 0 ? "" : ", ").append(conflicts.get(i) + 1);
+        }
+        return (conflicts.size() == 1 ? "Page " : "Pages ") + numbers + " changed in another editor. "
+            + verb + " again to overwrite, or Reload to take theirs.";
+    }
+
+    private boolean isUntouched(PageDraft draft, int pageNumber) {
+        return parseLine(draft.title).text().equals("Page " + pageNumber) && draft.lines.isEmpty()
+            && (draft.headerHint.isEmpty() || draft.headerHint.equals(BetterInfoConfig.DEFAULT_HEADER_HINT))
+            && draft.commandCode.isEmpty() && draft.buttonText.equals(BetterInfoConfig.DEFAULT_BUTTON_TEXT)
+            && draft.footerText.isEmpty() && draft.nextPage < 0;
+    }
+
     private void refreshPageUI() {
         UICommandBuilder builder = new UICommandBuilder();
         UIEventBuilder events = new UIEventBuilder();
@@ -271,59 +444,119 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
     }
 
     private void reloadFromService() {
-        this.config = service.currentConfig();
-        this.pages.clear();
-        for (BetterInfoConfig.InfoPage page : service.snapshotPages()) {
-            this.pages.add(PageDraft.from(page));
-        }
-        ensurePageCapacity();
-        currentPageIndex = Math.max(0, Math.min(BetterInfoConfig.MAX_PAGES - 1, currentPageIndex));
+        loadDrafts(service.pageSnapshot(), null);
+        ensurePageCapacity(currentPageIndex);
+        lineWindow = Math.min(lineWindow, currentPage().lines.size() / LINE_ROWS);
+        status = DEFAULT_STATUS;
         refreshPageUI();
     }
 
+    private static String describeRestored(EditorDraftStore.Restored restored) {
+        if (restored.conflicts().isEmpty()) {
+            return "Restored unsaved edits. Save to keep them or Reload to discard.";
+        }
+        String kept = BetterInfoService.describePages(restored.conflicts());
+        if (restored.pages().stream().allMatch(Objects::isNull)) {
+            return "Unsaved edits on " + kept + " were dropped: the saved pages changed since.";
+        }
+        return "Restored unsaved edits; " + kept + " changed since and kept the saved version.";
+    }
+
+    /**
+     * Drafts start from the live pages, or from {@code overlay} where given, and remember the live
+     * page and version they are based on.
+     */
+    private void loadDrafts(PageSnapshot snapshot, List<BetterInfoConfig.InfoPage> overlay) {
+        config = snapshot.config();
+        pages.clear();
+        List<BetterInfoConfig.InfoPage> live = snapshot.pages();
+        int count = live.size();
+        if (overlay != null) {
+            for (int i = overlay.size() - 1; i >= count; i--) {
+                if (overlay.get(i) != null) {
+                    count = i + 1;
+                    break;
+                }
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            BetterInfoConfig.InfoPage restored = overlay != null && i < overlay.size() ? overlay.get(i) : null;
+            if (restored == null) {
+                restored = i < live.size() ? live.get(i) : BetterInfoConfig.InfoPage.empty(i + 1);
+            }
+            PageDraft draft = PageDraft.from(restored);
+            if (i < live.size()) {
+                draft.rebase(live.get(i), snapshot.version(i), service.savedPage(i));
+            }
+            pages.add(draft);
+        }
+    }
+
     private void populatePageFields(UICommandBuilder builder) {
         PageDraft current = currentPage();
         LineParts titleParts = parseLine(current.title);
-        builder.set("#EditorTitle.Text", "Better Info Editor - Page " + (currentPageIndex + 1));
-        builder.set("#TitleInput.Value", titleParts.text());
-        builder.set("#TitleColorHex.Value", titleParts.color().isEmpty() ? "#f6f8ff" : titleParts.color());
-        builder.set("#HeaderHintInput.Value", current.headerHint);
-        builder.set("#CommandCodeInput.Value", current.commandCode);
+        send(builder, VIEW_TOKEN, viewToken());
+        send(builder, "#EditorTitle.Text", "Better Info Editor - Page " + (currentPageIndex + 1));
+        send(builder, FIELD_VALUES[FIELD_TITLE], titleParts.text());
+        send(builder, FIELD_VALUES[FIELD_TITLE_COLOR], titleParts.color().isEmpty() ? DEFAULT_TITLE_COLOR : titleParts.color());
+        send(builder, FIELD_VALUES[FIELD_HEADER_HINT], current.headerHint);
+        send(builder, FIELD_VALUES[FIELD_COMMAND_CODE], current.commandCode);
         String commandHint = current.commandCode.isEmpty()
             ? "Players can use /<code>"
             : "Players can use /" + current.commandCode;
-        builder.set("#CommandHint.Text", commandHint);
-        builder.set("#ButtonTextInput.Value", current.buttonText);
-        builder.set("#FooterTextInput.Value", current.footerText);
+        send(builder, "#CommandHint.Text", commandHint);
+        send(builder, FIELD_VALUES[FIELD_BUTTON_TEXT], current.buttonText);
+        send(builder, FIELD_VALUES[FIELD_FOOTER_TEXT], current.footerText);
         String nextValue = current.nextPage >= 0 ? String.valueOf(current.nextPage + 1) : "";
-        builder.set("#NextPageInput.Value", nextValue);
+        send(builder, FIELD_VALUES[FIELD_NEXT_PAGE], nextValue);
         String nextHint = current.nextPage >= 0
             ? "Button navigates to page " + (current.nextPage + 1)
             : "Leave blank to confirm/close";
-        builder.set("#NextPageHint.Text", nextHint);
-        builder.set("#ActivePageLabel.Text", "Page active : " + (currentPageIndex + 1));
-        for (int i = 0; i < BetterInfoConfig.HARD_MAX_LINES; i++) {
-            String rowSelector = "#Line" + (i + 1) + "Row.Visible";
-            String valueSelector = "#Line" + (i + 1) + "Input.Value";
-            String colorSelector = "#Line" + (i + 1) + "Color.Value";
-            builder.set(rowSelector, i < BetterInfoConfig.HARD_MAX_LINES);
-            LineParts parts = i < current.lines.size() ? parseLine(current.lines.get(i)) : new LineParts("", "");
-            builder.set(valueSelector, parts.text());
-            builder.set(colorSelector, parts.color());
+        send(builder, "#NextPageHint.Text", nextHint);
+        send(builder, "#StatusHint.Text", status);
+        send(builder, "#ActivePageLabel.Text", "Page active : " + (currentPageIndex + 1) + " of " + pages.size());
+        int offset = lineWindow * LINE_ROWS;
+        send(builder, "#LineWindowLabel.Text", "Lines " + (offset + 1) + "-" + (offset + LINE_ROWS) + " of " + current.lines.size());
+        send(builder, "#LinesPrevButton.Visible", lineWindow > 0);
+        send(builder, "#LinesNextButton.Visible", offset + LINE_ROWS <= current.lines.size());
+        for (int i = 0; i < LINE_ROWS; i++) {
+            int line = offset + i;
+            send(builder, LINE_INDEX_LABELS[i], line < 99 ? String.format("%02d", line + 1) : String.valueOf(line + 1));
+            LineParts parts = line < current.lines.size() ? parseLine(current.lines.get(line)) : new LineParts("", "");
+            String pendingColor = parts.color().isEmpty() ? current.pendingColors.get(line) : null;
+            send(builder, FIELD_VALUES[FIRST_LINE_FIELD + i], parts.text());
+            send(builder, FIELD_VALUES[FIRST_COLOR_FIELD + i], pendingColor != null ? pendingColor : parts.color());
+        }
+        int firstTab = currentPageIndex / PAGE_TABS * PAGE_TABS;
+        send(builder, "#PagesPrevButton.Visible", firstTab > 0);
+        send(builder, "#PagesNextButton.Visible", firstTab + PAGE_TABS <= pages.size());
+        for (int i = 0; i < PAGE_TABS; i++) {
+            int pageNumber = firstTab + i + 1;
+            send(builder, PAGE_BUTTON_TEXTS[i], "Page " + pageNumber);
+            send(builder, PAGE_BUTTON_VISIBLE[i], pageNumber <= pages.size() + 1);
         }
-        for (int i = 1; i <= BetterInfoConfig.MAX_PAGES; i++) {
-            builder.set("#Page" + i + "Button.Visible", true);
+    }
+
+    /**
+     * Sets a selector only when it differs from what the client was last sent or last reported,
+     * so switching pages or line windows ships just the fields that actually change.
+     */
+    private void send(UICommandBuilder builder, String selector, String value) {
+        if (!value.equals(shown.put(selector, value))) {
+            builder.set(selector, value);
         }
     }
 
-    private void appendSharedField(EventData apply, EventData save, List<EventData> pageEvents, String key, String selector) {
-        apply.append(key, selector);
-        save.append(key, selector);
-        for (EventData pageEvent : pageEvents) {
-            pageEvent.append(key, selector);
+    private void send(UICommandBuilder builder, String selector, boolean value) {
+        if (!Boolean.valueOf(value).equals(shown.put(selector, value))) {
+            builder.set(selector, value);
         }
     }
 
+    private String viewToken() {
+        return currentPageIndex + "/" + lineWindow;
+    }
+
     private PageDraft currentPage() {
         if (pages.isEmpty()) {
             return PageDraft.empty(1);
@@ -336,30 +569,29 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
             return currentPageIndex;
         }
         try {
-            int index = Integer.parseInt(action.substring(4)) - 1;
-            return Math.max(0, Math.min(BetterInfoConfig.MAX_PAGES - 1, index));
+            int tab = Integer.parseInt(action.substring(4)) - 1;
+            if (tab < 0 || tab >= PAGE_TABS) {
+                return currentPageIndex;
+            }
+            return currentPageIndex / PAGE_TABS * PAGE_TABS + tab;
         } catch (NumberFormatException e) {
             return currentPageIndex;
         }
     }
 
-    private void ensurePageCapacity() {
-        while (pages.size() < BetterInfoConfig.MAX_PAGES) {
-            pages.add(PageDraft.empty(pages.size() + 1));
+    private void selectPage(int pageIndex) {
+        if (pageIndex < 0 || pageIndex > pages.size() || pageIndex >= BetterInfoConfig.MAX_PAGE_NUMBER) {
+            return;
         }
+        ensurePageCapacity(pageIndex);
+        currentPageIndex = pageIndex;
+        lineWindow = 0;
     }
 
-    private List<String> trimTrailingEmpty(List<String> lines) {
-        List<String> trimmed = new ArrayList<>(lines);
-        while (!trimmed.isEmpty()) {
-            String last = trimmed.get(trimmed.size() - 1);
-            if (last == null || last.isEmpty()) {
-                trimmed.remove(trimmed.size() - 1);
-            } else {
-                break;
-            }
+    private void ensurePageCapacity(int pageIndex) {
+        while (pages.size() < BetterInfoConfig.DEFAULT_PAGE_COUNT || pages.size() <= pageIndex) {
+            pages.add(PageDraft.empty(pages.size() + 1));
         }
-        return trimmed;
     }
 
     private LineParts parseLine(String raw) {
@@ -382,65 +614,48 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
         return new LineParts(color, safe(text));
     }
 
+    /**
+     * Every editor event carries an action and, for field changes, one field index plus its value,
+     * so decoding touches three keys no matter how many inputs the form has.
+     */
     static final class EditorEventData {
         static final BuilderCodec<EditorEventData> CODEC;
 
         static {
             BuilderCodec.Builder<EditorEventData> builder = BuilderCodec.builder(EditorEventData.class, EditorEventData::new);
             builder.append(new KeyedCodec<>("Action", Codec.STRING), (e, v) -> e.action = v, e -> e.action).add();
-            builder.append(new KeyedCodec<>("@Title", Codec.STRING), (e, v) -> e.title = v, e -> e.title).add();
-            builder.append(new KeyedCodec<>("@TitleColorHex", Codec.STRING), (e, v) -> e.titleColorHex = v, e -> e.titleColorHex).add();
-            builder.append(new KeyedCodec<>("@HeaderHint", Codec.STRING), (e, v) -> e.headerHint = v, e -> e.headerHint).add();
-            builder.append(new KeyedCodec<>("@CommandCode", Codec.STRING), (e, v) -> e.commandCode = v, e -> e.commandCode).add();
-            builder.append(new KeyedCodec<>("@ButtonText", Codec.STRING), (e, v) -> e.buttonText = v, e -> e.buttonText).add();
-            builder.append(new KeyedCodec<>("@FooterText", Codec.STRING), (e, v) -> e.footerText = v, e -> e.footerText).add();
-            builder.append(new KeyedCodec<>("@NextPage", Codec.STRING), (e, v) -> e.nextPage = v, e -> e.nextPage).add();
-            for (int i = 1; i <= BetterInfoConfig.HARD_MAX_LINES; i++) {
-                final int index = i - 1;
-                builder.append(new KeyedCodec<>("@Line" + i, Codec.STRING), (e, v) -> e.lines[index] = v, e -> e.lines[index]).add();
-            }
-            for (int i = 1; i <= BetterInfoConfig.HARD_MAX_LINES; i++) {
-                final int index = i - 1;
-                builder.append(new KeyedCodec<>("@ColorHex" + i, Codec.STRING), (e, v) -> e.colors[index] = v, e -> e.colors[index]).add();
-            }
+            builder.append(new KeyedCodec<>("Field", Codec.STRING), (e, v) -> e.field = v, e -> e.field).add();
+            builder.append(new KeyedCodec<>("@Value", Codec.STRING), (e, v) -> e.value = v, e -> e.value).add();
+            builder.append(new KeyedCodec<>("@View", Codec.STRING), (e, v) -> e.view = v, e -> e.view).add();
             CODEC = builder.build();
         }
 
         private String action;
-        private String title;
-        private String titleColorHex;
-        private String headerHint;
-        private String commandCode;
-        private String buttonText;
-        private String footerText;
-        private String nextPage;
-        private final String[] lines = new String[BetterInfoConfig.HARD_MAX_LINES];
-        private final String[] colors = new String[BetterInfoConfig.HARD_MAX_LINES];
+        private String field;
+        private String value;
+        private String view;
 
         EditorEventData() {
         }
 
-        String line(int index) {
-            return index >= 0 && index < lines.length ? lines[index] : null;
-        }
-
-        String color(int index) {
-            return index >= 0 && index < colors.length ? colors[index] : null;
+        int field() {
+            if (field == null || field.isEmpty() || field.length() > 4) {
+                return -1;
+            }
+            int index = 0;
+            for (int i = 0; i < field.length(); i++) {
+                int digit = field.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                index = index * 10 + digit;
+            }
+            return index;
         }
     }
 
     private record LineParts(String color, String text) {}
 
-        private record EditorSubmission(
-            String title,
-            List<String> lines,
-            String headerHint,
-            String commandCode,
-            String buttonText,
-            String footerText,
-            int nextPageIndex
-        ) {}
-
     private static final class PageDraft {
         String title;
         List<String> lines;
@@ -449,6 +664,12 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
         String buttonText;
         String footerText;
         int nextPage;
+        BetterInfoConfig.InfoPage source;
+        BetterInfoConfig.InfoPage base;
+        long baseVersion = PageSnapshot.NEW_PAGE;
+        BetterInfoConfig.InfoPage saved;
+        boolean dirty;
+        final Map<Integer, String> pendingColors = new HashMap<>();
 
         PageDraft(String title, List<String> lines) {
             this(title, lines, "", "", BetterInfoConfig.DEFAULT_BUTTON_TEXT, "", -1);
@@ -465,7 +686,7 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
         }
 
         static PageDraft from(BetterInfoConfig.InfoPage page) {
-            return new PageDraft(
+            PageDraft draft = new PageDraft(
                     page.title(),
                     new ArrayList<>(page.lines()),
                     page.headerHint(),
@@ -474,6 +695,22 @@ final class InfoEditorPage extends InteractiveCustomUIPage<InfoEditorPage.Editor
                     page.footerText(),
                     page.nextPageIndex()
             );
+            draft.source = page;
+            return draft;
+        }
+
+        PageDraft rebase(BetterInfoConfig.InfoPage page, long version, BetterInfoConfig.InfoPage savedPage) {
+            base = page;
+            baseVersion = version;
+            saved = savedPage;
+            return this;
+        }
+
+        String changed(String current, String updated) {
+            if (!current.equals(updated)) {
+                dirty = true;
+            }
+            return updated;
         }
 
         static PageDraft empty(int pageNumber) {
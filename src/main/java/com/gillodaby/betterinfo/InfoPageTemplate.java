@@ -0,0 +1,215 @@
+package com.gillodaby.betterinfo;
+
+import com.hypixel.hytale.protocol.packets.interface_.CustomUIEventBindingType;
+import com.hypixel.hytale.server.core.ui.builder.EventData;
+import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
+import com.hypixel.hytale.server.core.ui.builder.UIEventBuilder;
+
+final class InfoPageTemplate {
+
+    static final String UI_PATH = "Pages/GilloDaby_BetterInfo.ui";
+
+    private static final String DEFAULT_TITLE_COLOR = "#f8efe1";
+    private static final String UI_DEFAULT_LINE_COLOR = "#f0e7da";
+    private static final String UI_DEFAULT_LINE_HOVER_COLOR = "#ffffff";
+
+    private static final int ROOT_VISIBLE = 0;
+    private static final int TITLE_TEXT = 1;
+    private static final int TITLE_COLOR = 2;
+    private static final int HEADER_TEXT = 3;
+    private static final int FOOTER_TEXT = 4;
+    private static final int BUTTON_TEXT = 5;
+    private static final int PAGER_VISIBLE = 6;
+    private static final int PAGER_LABEL = 7;
+    private static final int PREV_VISIBLE = 8;
+    private static final int NEXT_VISIBLE = 9;
+    private static final int VIEW_TOKEN = 10;
+    private static final int FIRST_LINE_SLOT = 11;
+    private static final int SLOTS_PER_LINE = 5;
+    private static final int LINE_TEXT = 0;
+    private static final int LINE_VISIBLE = 1;
+    private static final int LINE_COLOR = 2;
+    private static final int LINE_HOVER_COLOR = 3;
+    private static final int LINE_PRESSED_COLOR = 4;
+
+    private static final String[] LINE_IDS = new String[BetterInfoConfig.UI_LINE_SLOTS];
+    private static final EventData[] LINE_EVENTS = new EventData[BetterInfoConfig.UI_LINE_SLOTS];
+    private static final String[] SELECTORS = new String[FIRST_LINE_SLOT + BetterInfoConfig.UI_LINE_SLOTS * SLOTS_PER_LINE];
+    private static final Object[] UI_DEFAULTS = new Object[SELECTORS.length];
+
+    static {
+        SELECTORS[ROOT_VISIBLE] = "#InfoRoot.Visible";
+        SELECTORS[TITLE_TEXT] = "#InfoTitle.Text";
+        SELECTORS[TITLE_COLOR] = "#InfoTitle.Style.TextColor";
+        SELECTORS[HEADER_TEXT] = "#HeaderHint.Text";
+        SELECTORS[FOOTER_TEXT] = "#FooterHint.Text";
+        SELECTORS[BUTTON_TEXT] = "#AgreeButton.Text";
+        SELECTORS[PAGER_VISIBLE] = "#Pager.Visible";
+        SELECTORS[PAGER_LABEL] = "#PagerLabel.Text";
+        SELECTORS[PREV_VISIBLE] = "#PrevLinesButton.Visible";
+        SELECTORS[NEXT_VISIBLE] = "#NextLinesButton.Visible";
+        SELECTORS[VIEW_TOKEN] = "#ViewToken.Text";
+        UI_DEFAULTS[ROOT_VISIBLE] = Boolean.TRUE;
+        UI_DEFAULTS[TITLE_TEXT] = "Server Info";
+        UI_DEFAULTS[TITLE_COLOR] = DEFAULT_TITLE_COLOR;
+        UI_DEFAULTS[HEADER_TEXT] = BetterInfoConfig.DEFAULT_HEADER_HINT;
+        UI_DEFAULTS[FOOTER_TEXT] = "You can reopen this page with /info";
+        UI_DEFAULTS[BUTTON_TEXT] = "";
+        UI_DEFAULTS[PAGER_VISIBLE] = Boolean.TRUE;
+        UI_DEFAULTS[PAGER_LABEL] = "";
+        UI_DEFAULTS[PREV_VISIBLE] = Boolean.TRUE;
+        UI_DEFAULTS[NEXT_VISIBLE] = Boolean.TRUE;
+        UI_DEFAULTS[VIEW_TOKEN] = "";
+        for (int i = 0; i < BetterInfoConfig.UI_LINE_SLOTS; i++) {
+            String baseId = "#Line" + (i + 1);
+            int slot = lineSlot(i);
+            LINE_IDS[i] = baseId;
+            LINE_EVENTS[i] = new EventData().append("Action", "url").append("Line", String.valueOf(i)).append("@View", SELECTORS[VIEW_TOKEN]);
+            SELECTORS[slot + LINE_TEXT] = baseId + ".Text";
+            SELECTORS[slot + LINE_VISIBLE] = baseId + ".Visible";
+            SELECTORS[slot + LINE_COLOR] = baseId + ".Style.Default.LabelStyle.TextColor";
+            SELECTORS[slot + LINE_HOVER_COLOR] = baseId + ".Style.Hovered.LabelStyle.TextColor";
+            SELECTORS[slot + LINE_PRESSED_COLOR] = baseId + ".Style.Pressed.LabelStyle.TextColor";
+            UI_DEFAULTS[slot + LINE_TEXT] = "";
+            UI_DEFAULTS[slot + LINE_VISIBLE] = Boolean.TRUE;
+            UI_DEFAULTS[slot + LINE_COLOR] = UI_DEFAULT_LINE_COLOR;
+            UI_DEFAULTS[slot + LINE_HOVER_COLOR] = UI_DEFAULT_LINE_HOVER_COLOR;
+            UI_DEFAULTS[slot + LINE_PRESSED_COLOR] = UI_DEFAULT_LINE_HOVER_COLOR;
+        }
+    }
+
+    private final Object[] values;
+    private final int window;
+    private final int firstLine;
+    private final int lineCount;
+    private final String[] urls;
+
+    private InfoPageTemplate(Object[] values, int window, int firstLine, int lineCount, String[] urls) {
+        this.values = values;
+        this.window = window;
+        this.firstLine = firstLine;
+        this.lineCount = lineCount;
+        this.urls = urls;
+    }
+
+    static int windowCount(InfoView view, int windowSize) {
+        int lines = view.lines() != null ? view.lines().size() : 0;
+        return Math.max(1, (lines + windowSize - 1) / windowSize);
+    }
+
+    int window() {
+        return window;
+    }
+
+    /**
+     * Page and window this template shows; it is written to the hidden #ViewToken label, which
+     * every event reads back, so a click made before a switch reached the client can be told apart.
+     */
+    String viewToken() {
+        return (String) values[VIEW_TOKEN];
+    }
+
+    int firstLine() {
+        return firstLine;
+    }
+
+    int lineCount() {
+        return lineCount;
+    }
+
+    static InfoPageTemplate compile(InfoView view, int window, int windowSize) {
+        Object[] values = new Object[SELECTORS.length];
+        values[ROOT_VISIBLE] = Boolean.TRUE;
+        values[TITLE_TEXT] = view.title();
+        values[TITLE_COLOR] = view.titleColorHex() == null || view.titleColorHex().isEmpty() ? DEFAULT_TITLE_COLOR : view.titleColorHex();
+        values[HEADER_TEXT] = orDefault(view.headerHint(), BetterInfoConfig.DEFAULT_HEADER_HINT);
+        values[FOOTER_TEXT] = orDefault(view.footerText(), BetterInfoConfig.DEFAULT_FOOTER_TEXT);
+        values[BUTTON_TEXT] = orDefault(view.buttonText(), BetterInfoConfig.DEFAULT_BUTTON_TEXT);
+
+        windowSize = Math.max(1, Math.min(BetterInfoConfig.UI_LINE_SLOTS, windowSize));
+        int total = view.lines() != null ? view.lines().size() : 0;
+        int windows = windowCount(view, windowSize);
+        window = Math.max(0, Math.min(windows - 1, window));
+        int firstLine = window * windowSize;
+        int lineCount = Math.max(0, Math.min(windowSize, total - firstLine));
+        if (windows <= 1) {
+            values[PAGER_VISIBLE] = Boolean.FALSE;
+        } else {
+            values[PAGER_LABEL] = "Lines " + (firstLine + 1) + "-" + (firstLine + lineCount) + " of " + total;
+            values[PREV_VISIBLE] = window > 0;
+            values[NEXT_VISIBLE] = window < windows - 1;
+        }
+        values[VIEW_TOKEN] = view.pageIndex() + "/" + window;
+        String[] urls = new String[lineCount];
+        for (int i = 0; i < BetterInfoConfig.UI_LINE_SLOTS; i++) {
+            int slot = lineSlot(i);
+            if (i >= lineCount) {
+                values[slot + LINE_VISIBLE] = Boolean.FALSE;
+                continue;
+            }
+            InfoView.Line line = view.lines().get(firstLine + i);
+            values[slot + LINE_TEXT] = line.text();
+            if (!UI_DEFAULT_LINE_COLOR.equals(line.colorHex())) {
+                values[slot + LINE_COLOR] = line.colorHex();
+            }
+            values[slot + LINE_HOVER_COLOR] = line.colorHex();
+            values[slot + LINE_PRESSED_COLOR] = line.colorHex();
+            urls[i] = line.url();
+        }
+        return new InfoPageTemplate(values, window, firstLine, lineCount, urls);
+    }
+
+    void apply(UICommandBuilder builder) {
+        builder.append(UI_PATH);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                set(builder, i, values[i]);
+            }
+        }
+    }
+
+    int applyDiff(InfoPageTemplate next, UICommandBuilder builder) {
+        int changed = 0;
+        for (int i = 0; i < values.length; i++) {
+            Object from = values[i] != null ? values[i] : UI_DEFAULTS[i];
+            Object to = next.values[i] != null ? next.values[i] : UI_DEFAULTS[i];
+            if (!from.equals(to)) {
+                set(builder, i, to);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Binds every line slot once per page; the event only names the slot and the view it was
+     * clicked in, and the link is looked up in the current template, so switching pages or
+     * windows needs no new bindings.
+     */
+    static void bindUrls(UIEventBuilder events) {
+        for (int i = 0; i < LINE_EVENTS.length; i++) {
+            events.addEventBinding(CustomUIEventBindingType.Activating, LINE_IDS[i], LINE_EVENTS[i], false);
+        }
+    }
+
+    /** The link found on the given visible line, or an empty string. */
+    String url(int line) {
+        return line >= 0 && line < urls.length ? urls[line] : "";
+    }
+
+    private static void set(UICommandBuilder builder, int slot, Object value) {
+        if (value instanceof Boolean flag) {
+            builder.set(SELECTORS[slot], flag);
+        } else {
+            builder.set(SELECTORS[slot], (String) value);
+        }
+    }
+
+    private static int lineSlot(int index) {
+        return FIRST_LINE_SLOT + index * SLOTS_PER_LINE;
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value != null && !value.isEmpty() ? value : fallback;
+    }
+}
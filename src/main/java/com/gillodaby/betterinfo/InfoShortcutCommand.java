@@ -9,28 +9,14 @@ import java.util.concurrent.CompletableFuture;
 final class InfoShortcutCommand extends AbstractCommand {
 
     private final BetterInfoService service;
+    private final InfoShortcutRegistry registry;
     private final String commandName;
-    private volatile String pageCode;
-    private volatile String pageTitle;
-    private volatile boolean enabled;
 
-    InfoShortcutCommand(String commandName, BetterInfoService service) {
+    InfoShortcutCommand(String commandName, BetterInfoService service, InfoShortcutRegistry registry) {
         super(commandName, "Open a Better Info page");
         this.commandName = commandName;
         this.service = service;
-        this.enabled = false;
-    }
-
-    void setPageCode(String pageCode, String pageTitle) {
-        this.pageCode = pageCode;
-        this.pageTitle = pageTitle != null ? pageTitle : "";
-        this.enabled = true;
-    }
-
-    void disable() {
-        this.enabled = false;
-        this.pageTitle = null;
-        this.pageCode = null;
+        this.registry = registry;
     }
 
     @Override
@@ -49,7 +35,8 @@ final class InfoShortcutCommand extends AbstractCommand {
             ctx.sendMessage(service.text("[BetterInfo] Missing permission: " + permission));
             return CompletableFuture.completedFuture(null);
         }
-        if (!enabled || pageCode == null || pageCode.isEmpty()) {
+        String pageCode = registry.pageCodeFor(commandName);
+        if (pageCode == null || pageCode.isEmpty()) {
             ctx.sendMessage(service.text("No info page is currently linked to /" + commandName + "."));
             return CompletableFuture.completedFuture(null);
         }
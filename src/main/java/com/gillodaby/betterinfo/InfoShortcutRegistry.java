@@ -1,67 +1,169 @@
 package com.gillodaby.betterinfo;
 
+import com.hypixel.hytale.server.core.command.system.AbstractCommand;
 import com.hypixel.hytale.server.core.command.system.CommandManager;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 
+/**
+ * Keeps one {@link InfoShortcutCommand} registered per page command code. Each refresh publishes
+ * an immutable {@link Generation} mapping command names to page codes in a single volatile write,
+ * and commands resolve their page through it, so dispatch sees either the old or the new mapping.
+ * Codes that disappear are unregistered from the {@link CommandManager} when the server exposes an
+ * unregister method; otherwise they stay registered but unbound. Either way the command object is
+ * kept for reuse (unregistered ones in a small LRU pool) in case the code comes back.
+ */
 final class InfoShortcutRegistry {
 
+    private static final int RETIRED_POOL_SIZE = 32;
+    private static final String[] UNREGISTER_METHODS = {"unregister", "unregisterCommand", "removeCommand"};
+
     private final CommandManager commandManager;
     private final BetterInfoService service;
-    private final Map<String, InfoShortcutCommand> commands = new HashMap<>();
+    private final MethodHandle unregister;
+    private final Map<String, InfoShortcutCommand> registered = new HashMap<>();
+    private final Map<String, InfoShortcutCommand> retired = new LinkedHashMap<>(16, 0.75f, true);
+    private volatile Generation generation = new Generation(0, Collections.emptyMap());
+    private long unregisteredCount;
+    private long reusedCount;
 
     InfoShortcutRegistry(CommandManager commandManager, BetterInfoService service) {
         this.commandManager = commandManager;
         this.service = service;
+        this.unregister = findUnregister(commandManager);
+    }
+
+    String pageCodeFor(String commandName) {
+        return generation.pageCodes.get(commandName);
     }
 
-    void refreshShortcuts(List<BetterInfoConfig.InfoPage> pages) {
-        if (pages == null) {
-            commands.values().forEach(InfoShortcutCommand::disable);
+    synchronized void refreshShortcuts(List<BetterInfoConfig.InfoPage> pages) {
+        Map<String, String> pageCodes = new HashMap<>();
+        if (pages != null) {
+            for (BetterInfoConfig.InfoPage page : pages) {
+                if (page == null) {
+                    continue;
+                }
+                String code = sanitize(page.commandCode());
+                if (code.isEmpty() || code.equals("info") || pageCodes.containsKey(code)) {
+                    continue;
+                }
+                pageCodes.put(code, page.commandCode());
+                if (!registered.containsKey(code)) {
+                    registered.put(code, register(code));
+                }
+            }
+        }
+        generation = new Generation(generation.number + 1, Collections.unmodifiableMap(pageCodes));
+        if (unregister == null) {
             return;
         }
-        Set<String> active = new HashSet<>();
-        for (BetterInfoConfig.InfoPage page : pages) {
-            if (page == null) {
-                continue;
-            }
-            String code = sanitize(page.commandCode());
-            if (code.isEmpty() || code.equals("info")) {
-                continue;
+        Iterator<Map.Entry<String, InfoShortcutCommand>> it = registered.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, InfoShortcutCommand> entry = it.next();
+            if (!pageCodes.containsKey(entry.getKey()) && unregister(entry.getValue())) {
+                it.remove();
+                retire(entry.getKey(), entry.getValue());
             }
-            active.add(code);
-            InfoShortcutCommand command = commands.computeIfAbsent(code, name -> {
-                InfoShortcutCommand created = new InfoShortcutCommand(name, service);
-                commandManager.register(created);
-                return created;
-            });
-            command.setPageCode(page.commandCode(), page.title());
         }
-        for (Map.Entry<String, InfoShortcutCommand> entry : commands.entrySet()) {
-            if (!active.contains(entry.getKey())) {
-                entry.getValue().disable();
+    }
+
+    synchronized String describe() {
+        Generation current = generation;
+        return "Shortcuts: " + current.pageCodes.size() + " active, " + (registered.size() - current.pageCodes.size()) + " unbound, "
+            + retired.size() + " pooled (generation " + current.number + ", " + unregisteredCount + " unregistered, "
+            + reusedCount + " reused" + (unregister == null ? ", unregister unsupported" : "") + ")";
+    }
+
+    private InfoShortcutCommand register(String code) {
+        InfoShortcutCommand command = retired.remove(code);
+        if (command != null) {
+            reusedCount++;
+        } else {
+            command = new InfoShortcutCommand(code, service, this);
+        }
+        commandManager.register(command);
+        return command;
+    }
+
+    private boolean unregister(InfoShortcutCommand command) {
+        try {
+            unregister.invoke(commandManager, command);
+            unregisteredCount++;
+            return true;
+        } catch (Throwable e) {
+            System.out.println("[BetterInfo] Could not unregister shortcut command: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void retire(String code, InfoShortcutCommand command) {
+        retired.put(code, command);
+        if (retired.size() > RETIRED_POOL_SIZE) {
+            Iterator<String> eldest = retired.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static MethodHandle findUnregister(CommandManager commandManager) {
+        if (commandManager == null) {
+            return null;
+        }
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (String name : UNREGISTER_METHODS) {
+            try {
+                MethodHandle handle = lookup.findVirtual(commandManager.getClass(), name, MethodType.methodType(void.class, AbstractCommand.class));
+                return handle.asType(MethodType.methodType(void.class, CommandManager.class, InfoShortcutCommand.class));
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
+            }
+            try {
+                MethodHandle handle = lookup.findVirtual(commandManager.getClass(), name, MethodType.methodType(boolean.class, AbstractCommand.class));
+                return handle.asType(MethodType.methodType(void.class, CommandManager.class, InfoShortcutCommand.class));
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
             }
         }
+        return null;
     }
 
     private String sanitize(String raw) {
-        if (raw == null) {
+        if (raw == null || raw.isEmpty()) {
             return "";
         }
-        String trimmed = raw.trim();
-        if (trimmed.isEmpty()) {
-            return "";
+        StringBuilder normalized = null;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            boolean keep = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+            if (keep && normalized == null) {
+                continue;
+            }
+            if (normalized == null) {
+                normalized = new StringBuilder(raw.length()).append(raw, 0, i);
+            }
+            if (keep) {
+                normalized.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                normalized.append((char) (c + ('a' - 'A')));
+            }
         }
-        String normalized = trimmed.replaceAll("\\s+", "");
-        normalized = normalized.replaceAll("[^A-Za-z0-9_]", "");
-        if (normalized.isEmpty()) {
-            return "";
+        return normalized != null ? normalized.toString() : raw;
+    }
+
+    private static final class Generation {
+        private final long number;
+        private final Map<String, String> pageCodes;
+
+        private Generation(long number, Map<String, String> pageCodes) {
+            this.number = number;
+            this.pageCodes = pageCodes;
         }
-        return normalized.toLowerCase(Locale.ROOT);
     }
 }
@@ -13,5 +13,6 @@ record InfoView(
 		int nextPageIndex,
 		String commandCode
 	)	{
-	record Line(String text, String colorHex) {}
+	/** {@code url} is the first http(s) link in {@code text}, found when the page is compiled, or empty. */
+	record Line(String text, String colorHex, String url) {}
 }
@@ -0,0 +1,137 @@
+package com.gillodaby.betterinfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class InfoViewCompiler {
+
+    private static final String DEFAULT_TITLE_COLOR = "#f8efe1";
+    private static final String DEFAULT_LINE_COLOR = "#f0e7da";
+
+    private InfoViewCompiler() {
+    }
+
+    static InfoView compile(BetterInfoConfig.InfoPage current, int pageIndex) {
+        List<InfoView.Line> result = new ArrayList<>(current.lines().size());
+        for (String line : current.lines()) {
+            if (line == null) {
+                continue;
+            }
+            InfoView.Line parsed = parseDisplayLine(line);
+            result.add(new InfoView.Line(parsed.text(), parsed.colorHex(), findUrl(parsed.text())));
+        }
+        String header = current.headerHint() != null && !current.headerHint().isEmpty()
+                ? current.headerHint()
+                : BetterInfoConfig.DEFAULT_HEADER_HINT;
+        String buttonText = current.buttonText() != null && !current.buttonText().isEmpty()
+                ? current.buttonText()
+                : BetterInfoConfig.DEFAULT_BUTTON_TEXT;
+        String footerText = resolveFooterText(current);
+        int nextPage = current.nextPageIndex();
+        InfoView.Line titleParts = parseDisplayLine(current.title(), DEFAULT_TITLE_COLOR);
+        return new InfoView(
+            titleParts.text(),
+            titleParts.colorHex(),
+                List.copyOf(result),
+                header,
+                buttonText,
+                footerText,
+                pageIndex,
+                nextPage,
+                current.commandCode()
+        );
+    }
+
+    private static InfoView.Line parseDisplayLine(String raw) {
+        return parseDisplayLine(raw, DEFAULT_LINE_COLOR);
+    }
+
+    private static InfoView.Line parseDisplayLine(String raw, String fallbackColor) {
+        String defaultColor = (fallbackColor != null && !fallbackColor.isEmpty()) ? fallbackColor : DEFAULT_LINE_COLOR;
+        if (raw == null) {
+            return new InfoView.Line("", defaultColor, "");
+        }
+        String text = raw;
+        String color = defaultColor;
+        if (raw.startsWith("[") && raw.length() > 8) {
+            int close = raw.indexOf(']');
+            if (close > 1) {
+                String maybeColor = raw.substring(1, close);
+                String sanitized = sanitizeColor(maybeColor);
+                if (!sanitized.isEmpty()) {
+                    color = sanitized.startsWith("#") ? sanitized : "#" + sanitized;
+                    text = raw.substring(close + 1);
+                }
+            }
+        }
+        return new InfoView.Line(text, color, "");
+    }
+
+    /**
+     * Returns the first {@code http://} or {@code https://} link in {@code text} up to the next
+     * whitespace, without trailing punctuation, or an empty string. Scans the text once and only
+     * allocates the returned link.
+     */
+    static String findUrl(String text) {
+        int length = text.length();
+        for (int start = text.indexOf("http"); start >= 0; start = text.indexOf("http", start + 1)) {
+            int scheme = start + 4;
+            if (scheme < length && text.charAt(scheme) == 's') {
+                scheme++;
+            }
+            if (!text.startsWith("://", scheme)) {
+                continue;
+            }
+            int end = scheme + 3;
+            while (end < length && !isUrlSpace(text.charAt(end))) {
+                end++;
+            }
+            if (end == scheme + 3) {
+                continue;
+            }
+            while (isTrailingPunctuation(text.charAt(end - 1))) {
+                end--;
+            }
+            return text.substring(start, end);
+        }
+        return "";
+    }
+
+    private static boolean isUrlSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isTrailingPunctuation(char c) {
+        return c == '.' || c == ',' || c == ';' || c == ':' || c == ')' || c == ']' || c == '}' || c == '>' || c == '"' || c == '\'';
+    }
+
+    private static String sanitizeColor(String raw) {
+        if (raw == null) {
+            return "";
+        }
+        String trimmed = raw.trim();
+        if (trimmed.startsWith("#")) {
+            trimmed = trimmed.substring(1);
+        }
+        if (trimmed.length() != 6) {
+            return "";
+        }
+        for (char c : trimmed.toCharArray()) {
+            if (Character.digit(c, 16) < 0) {
+                return "";
+            }
+        }
+        return "#" + trimmed.toLowerCase();
+    }
+
+    private static String resolveFooterText(BetterInfoConfig.InfoPage page) {
+        if (page.footerText() != null && !page.footerText().isEmpty()) {
+            return page.footerText();
+        }
+        String code = page.commandCode();
+        if (code != null && !code.isEmpty()) {
+            return "You can reopen this page anytime with /" + code;
+        }
+        return BetterInfoConfig.DEFAULT_FOOTER_TEXT;
+    }
+}
@@ -0,0 +1,114 @@
+package com.gillodaby.betterinfo;
+
+import java.util.List;
+
+/**
+ * Immutable open-addressing map from a page command code to the first page that uses it. Keys are
+ * stored trimmed and lower-cased; lookups hash and compare the caller's text in place, so finding a
+ * code allocates nothing regardless of its case or surrounding whitespace.
+ */
+final class PageCodeIndex {
+
+    private static final PageCodeIndex EMPTY = new PageCodeIndex(new String[1], new int[1]);
+
+    private final String[] keys;
+    private final int[] pageIndexes;
+    private final int mask;
+
+    private PageCodeIndex(String[] keys, int[] pageIndexes) {
+        this.keys = keys;
+        this.pageIndexes = pageIndexes;
+        this.mask = keys.length - 1;
+    }
+
+    static PageCodeIndex of(List<BetterInfoConfig.InfoPage> pages) {
+        if (pages.isEmpty()) {
+            return EMPTY;
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, pages.size()) * 2 - 1) << 1;
+        String[] keys = new String[capacity];
+        int[] pageIndexes = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < pages.size(); i++) {
+            String code = pages.get(i).commandCode();
+            int start = skipLeading(code);
+            int end = skipTrailing(code, start);
+            if (start == end) {
+                continue;
+            }
+            int slot = hash(code, start, end) & mask;
+            while (keys[slot] != null && !matches(keys[slot], code, start, end)) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == null) {
+                keys[slot] = normalize(code, start, end);
+                pageIndexes[slot] = i;
+            }
+        }
+        return new PageCodeIndex(keys, pageIndexes);
+    }
+
+    int find(String code) {
+        if (code == null) {
+            return -1;
+        }
+        int start = skipLeading(code);
+        int end = skipTrailing(code, start);
+        if (start == end) {
+            return -1;
+        }
+        int slot = hash(code, start, end) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (matches(key, code, start, end)) {
+                return pageIndexes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int skipLeading(String code) {
+        int start = 0;
+        while (start < code.length() && Character.isWhitespace(code.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipTrailing(String code, int start) {
+        int end = code.length();
+        while (end > start && Character.isWhitespace(code.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static int hash(String code, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + Character.toLowerCase(code.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String key, String code, int start, int end) {
+        if (key.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != Character.toLowerCase(code.charAt(start + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String code, int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(code.charAt(start + i));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,237 @@
+package com.gillodaby.betterinfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class PageSnapshot {
+
+    static final long NEW_PAGE = 0;
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final BetterInfoConfig config;
+    private final int editorPageIndex;
+    private final InfoView[] views;
+    private final InfoPageTemplate[][] templates;
+    private final long[] versions;
+    private final PageCodeIndex codeIndex;
+
+    private PageSnapshot(BetterInfoConfig config, int editorPageIndex, PageSnapshot previous) {
+        this.config = config;
+        this.editorPageIndex = Math.max(0, Math.min(config.pages().size() - 1, editorPageIndex));
+        this.views = new InfoView[config.pages().size()];
+        this.templates = new InfoPageTemplate[views.length][];
+        this.versions = new long[views.length];
+        this.codeIndex = PageCodeIndex.of(config.pages());
+        compileViews(previous);
+    }
+
+    static PageSnapshot of(BetterInfoConfig config) {
+        return new PageSnapshot(config.withPages(config.pages()), 0, null);
+    }
+
+    BetterInfoConfig config() {
+        return config;
+    }
+
+    List<BetterInfoConfig.InfoPage> pages() {
+        return config.pages();
+    }
+
+    int editorPageIndex() {
+        return editorPageIndex;
+    }
+
+    BetterInfoConfig.InfoPage page(int pageIndex) {
+        List<BetterInfoConfig.InfoPage> pages = config.pages();
+        if (pages.isEmpty()) {
+            return BetterInfoConfig.InfoPage.empty(1);
+        }
+        int index = Math.max(0, Math.min(pages.size() - 1, pageIndex));
+        return pages.get(index);
+    }
+
+    InfoView view(int pageIndex) {
+        return views[clampIndex(pageIndex)];
+    }
+
+    /**
+     * Stamp of the page instance at {@code pageIndex}. It stays the same for as long as the page is
+     * unchanged and is never reused, so editors can detect that someone else replaced it.
+     */
+    long version(int pageIndex) {
+        return pageIndex >= 0 && pageIndex < versions.length ? versions[pageIndex] : NEW_PAGE;
+    }
+
+    int windowCount(int pageIndex) {
+        return templates[clampIndex(pageIndex)].length;
+    }
+
+    /**
+     * Templates for windows past the first are compiled on first use. Two threads racing on the
+     * same slot both build an identical template, so the slot is written without locking.
+     */
+    InfoPageTemplate template(int pageIndex, int window) {
+        InfoPageTemplate[] windows = templates[clampIndex(pageIndex)];
+        int index = Math.max(0, Math.min(windows.length - 1, window));
+        InfoPageTemplate template = windows[index];
+        if (template == null) {
+            template = InfoPageTemplate.compile(view(pageIndex), index, config.maxLines());
+            windows[index] = template;
+        }
+        return template;
+    }
+
+    int pageIndexByCode(String code) {
+        return codeIndex.find(code);
+    }
+
+    int clampIndex(int pageIndex) {
+        return Math.max(0, Math.min(views.length - 1, pageIndex));
+    }
+
+    List<String> infoLines() {
+        return page(0).lines();
+    }
+
+    PageSnapshot withConfig(BetterInfoConfig updated) {
+        return new PageSnapshot(updated.withPages(updated.pages()), editorPageIndex, this);
+    }
+
+    PageSnapshot withPages(List<BetterInfoConfig.InfoPage> updatedPages) {
+        return new PageSnapshot(config.withPages(updatedPages), editorPageIndex, this);
+    }
+
+    PageSnapshot withInfoLines(List<String> lines) {
+        List<BetterInfoConfig.InfoPage> pages = new ArrayList<>(config.pages());
+        pages.set(0, page(0).withLines(lines));
+        return withPages(pages);
+    }
+
+    /**
+     * Takes the pages read from disk, except where the live page has unsaved changes, meaning it
+     * differs from {@code saved}, the pages last read from or written to disk. With
+     * {@code keepUnsaved} those pages are kept, and they are listed in {@code conflicts} when the
+     * disk copy changed as well. Without it the disk copy wins and every unsaved page it replaces
+     * is listed.
+     */
+    PageSnapshot withLoadedConfig(BetterInfoConfig loaded, List<BetterInfoConfig.InfoPage> saved, boolean keepUnsaved, List<Integer> conflicts) {
+        conflicts.clear();
+        List<BetterInfoConfig.InfoPage> current = config.pages();
+        List<BetterInfoConfig.InfoPage> incoming = loaded.pages();
+        List<BetterInfoConfig.InfoPage> merged = new ArrayList<>(Math.max(incoming.size(), current.size()));
+        boolean changed = !config.sameSettings(loaded);
+        for (int i = 0; i < Math.max(incoming.size(), current.size()); i++) {
+            BetterInfoConfig.InfoPage live = i < current.size() ? current.get(i) : null;
+            BetterInfoConfig.InfoPage page = i < incoming.size() ? incoming.get(i) : null;
+            BetterInfoConfig.InfoPage base = i < saved.size() ? saved.get(i) : null;
+            if (live != null && live.equals(page)) {
+                merged.add(live);
+                continue;
+            }
+            boolean unsaved = live != null && !live.equals(base);
+            if (unsaved && keepUnsaved) {
+                if (!Objects.equals(page, base)) {
+                    conflicts.add(i);
+                }
+                merged.add(live);
+                continue;
+            }
+            if (unsaved) {
+                conflicts.add(i);
+            }
+            changed = true;
+            merged.add(page);
+        }
+        while (!merged.isEmpty() && merged.get(merged.size() - 1) == null) {
+            merged.remove(merged.size() - 1);
+        }
+        for (int i = 0; i < merged.size(); i++) {
+            if (merged.get(i) == null) {
+                merged.set(i, current.get(i));
+            }
+        }
+        if (!changed) {
+            return this;
+        }
+        return new PageSnapshot(loaded.withPages(merged), editorPageIndex, this);
+    }
+
+    /**
+     * Applies each edit whose base version still matches the live page, and fills {@code conflicts}
+     * with the indexes of pages someone else changed in the meantime. Edits identical to the live
+     * page are treated as already applied. Pages removed by an edit are dropped when they end the
+     * list past the default page count, and reset to an empty page otherwise.
+     */
+    PageSnapshot withEdits(List<PageEdit> edits, List<Integer> conflicts) {
+        conflicts.clear();
+        List<BetterInfoConfig.InfoPage> pages = new ArrayList<>(config.pages());
+        boolean changed = false;
+        for (PageEdit edit : edits) {
+            int index = edit.pageIndex();
+            if (edit.page() == null) {
+                if (index >= pages.size()) {
+                    continue;
+                }
+                if (versions[index] != edit.baseVersion()) {
+                    conflicts.add(index);
+                    continue;
+                }
+                pages.set(index, null);
+                changed = true;
+                continue;
+            }
+            if (index < pages.size()) {
+                BetterInfoConfig.InfoPage live = pages.get(index);
+                if (live == edit.page() || live.equals(edit.page())) {
+                    continue;
+                }
+                if (versions[index] != edit.baseVersion()) {
+                    conflicts.add(index);
+                    continue;
+                }
+            }
+            while (pages.size() <= index) {
+                pages.add(BetterInfoConfig.InfoPage.empty(pages.size() + 1));
+            }
+            pages.set(index, edit.page());
+            changed = true;
+        }
+        while (pages.size() > BetterInfoConfig.DEFAULT_PAGE_COUNT && pages.get(pages.size() - 1) == null) {
+            pages.remove(pages.size() - 1);
+        }
+        for (int i = 0; i < pages.size(); i++) {
+            if (pages.get(i) == null) {
+                pages.set(i, BetterInfoConfig.InfoPage.empty(i + 1));
+            }
+        }
+        return changed ? withPages(pages) : this;
+    }
+
+    PageSnapshot withEditorPageIndex(int pageIndex) {
+        return new PageSnapshot(config, pageIndex, this);
+    }
+
+    private void compileViews(PageSnapshot previous) {
+        List<BetterInfoConfig.InfoPage> pages = config.pages();
+        boolean reusable = previous != null && previous.config.maxLines() == config.maxLines();
+        for (int i = 0; i < views.length; i++) {
+            BetterInfoConfig.InfoPage page = pages.get(i);
+            boolean samePage = previous != null && i < previous.views.length && previous.config.pages().get(i) == page;
+            versions[i] = samePage ? previous.versions[i] : VERSIONS.incrementAndGet();
+            if (reusable && samePage) {
+                views[i] = previous.views[i];
+                templates[i] = previous.templates[i];
+            } else {
+                views[i] = InfoViewCompiler.compile(page, i);
+                templates[i] = new InfoPageTemplate[InfoPageTemplate.windowCount(views[i], config.maxLines())];
+                templates[i][0] = InfoPageTemplate.compile(views[i], 0, config.maxLines());
+            }
+        }
+    }
+
+    /** A null {@code page} removes the page; see {@link #withEdits}. */
+    record PageEdit(int pageIndex, long baseVersion, BetterInfoConfig.InfoPage page) {}
+}
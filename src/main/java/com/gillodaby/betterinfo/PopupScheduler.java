@@ -0,0 +1,137 @@
+package com.gillodaby.betterinfo;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+final class PopupScheduler {
+
+    private static final long MIN_RESCHEDULE_MS = 10;
+
+    private final ScheduledExecutorService executor;
+    private final Map<UUID, Pending> queue = new LinkedHashMap<>();
+    private final long delayMs;
+    private final double tokensPerMs;
+    private final double burst;
+    private final int backlogCap;
+    private double tokens;
+    private long lastRefill;
+    private boolean drainScheduled;
+    private boolean backlogFull;
+    private int peakDepth;
+    private long opened;
+    private long dropped;
+    private long coalesced;
+    private long cancelled;
+
+    PopupScheduler(ScheduledExecutorService executor, long delayMs, double ratePerSecond, int burst, int backlogCap) {
+        this.executor = executor;
+        this.delayMs = Math.max(0, delayMs);
+        this.tokensPerMs = Math.max(0.001, ratePerSecond) / 1000.0;
+        this.burst = Math.max(1, burst);
+        this.backlogCap = Math.max(1, backlogCap);
+        this.tokens = this.burst;
+        this.lastRefill = System.currentTimeMillis();
+    }
+
+    synchronized boolean enqueue(UUID playerId, Runnable open) {
+        Pending existing = queue.get(playerId);
+        if (existing != null) {
+            existing.open = open;
+            coalesced++;
+            return true;
+        }
+        if (queue.size() >= backlogCap) {
+            dropped++;
+            if (!backlogFull) {
+                backlogFull = true;
+                System.out.println("[BetterInfo] Popup backlog full (" + backlogCap + "), skipping first-join popups until it drains.");
+            }
+            return false;
+        }
+        queue.put(playerId, new Pending(open, System.currentTimeMillis() + delayMs));
+        peakDepth = Math.max(peakDepth, queue.size());
+        scheduleDrain(delayMs);
+        return true;
+    }
+
+    synchronized boolean cancel(UUID playerId) {
+        if (queue.remove(playerId) == null) {
+            return false;
+        }
+        cancelled++;
+        return true;
+    }
+
+    synchronized int queueDepth() {
+        return queue.size();
+    }
+
+    synchronized String describe() {
+        return "Popup queue: " + queue.size() + " waiting (peak " + peakDepth + ", cap " + backlogCap + "), "
+            + opened + " opened, " + coalesced + " coalesced, " + cancelled + " cancelled on leave, " + dropped + " dropped";
+    }
+
+    private void drain() {
+        Runnable next;
+        while ((next = poll()) != null) {
+            try {
+                next.run();
+            } catch (RuntimeException e) {
+                System.out.println("[BetterInfo] Failed to open queued popup: " + e.getMessage());
+            }
+        }
+    }
+
+    private synchronized Runnable poll() {
+        long now = System.currentTimeMillis();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * tokensPerMs);
+        lastRefill = now;
+        Iterator<Pending> it = queue.values().iterator();
+        if (!it.hasNext()) {
+            drainScheduled = false;
+            backlogFull = false;
+            return null;
+        }
+        Pending head = it.next();
+        if (head.readyAt > now) {
+            drainScheduled = false;
+            scheduleDrain(head.readyAt - now);
+            return null;
+        }
+        if (tokens < 1) {
+            drainScheduled = false;
+            scheduleDrain((long) Math.ceil((1 - tokens) / tokensPerMs));
+            return null;
+        }
+        tokens -= 1;
+        it.remove();
+        opened++;
+        return head.open;
+    }
+
+    private void scheduleDrain(long delay) {
+        if (drainScheduled) {
+            return;
+        }
+        try {
+            executor.schedule(this::drain, Math.max(MIN_RESCHEDULE_MS, delay), TimeUnit.MILLISECONDS);
+            drainScheduled = true;
+        } catch (RejectedExecutionException ignored) {
+        }
+    }
+
+    private static final class Pending {
+        private Runnable open;
+        private final long readyAt;
+
+        Pending(Runnable open, long readyAt) {
+            this.open = open;
+            this.readyAt = readyAt;
+        }
+    }
+}
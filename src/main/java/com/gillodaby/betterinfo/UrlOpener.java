@@ -0,0 +1,72 @@
+package com.gillodaby.betterinfo;
+
+import com.hypixel.hytale.server.core.entity.entities.Player;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opens links through whichever open-URL method the server's {@link Player} class exposes. The
+ * method is looked up once per runtime class and cached as a {@link MethodHandle}, or as an empty
+ * marker when the class has none, so a click costs one invoke or a chat fallback.
+ */
+final class UrlOpener {
+
+    private static final String[] OPEN_METHODS = {"openUrl", "openURL", "openBrowser", "openExternalUrl", "openExternalURL"};
+    private static final MethodType OPEN_TYPE = MethodType.methodType(void.class, Player.class, String.class);
+
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+    private final AtomicLong lookupFailures = new AtomicLong();
+    private final AtomicLong unsupportedClasses = new AtomicLong();
+    private final AtomicLong invokeFailures = new AtomicLong();
+    private final ClassValue<Optional<MethodHandle>> handles = new ClassValue<>() {
+        @Override
+        protected Optional<MethodHandle> computeValue(Class<?> type) {
+            return resolve(type);
+        }
+    };
+
+    /**
+     * Returns false when the player's class cannot open links or the call failed, in which case
+     * the caller shows the link in chat instead.
+     */
+    boolean open(Player player, String url) {
+        Optional<MethodHandle> handle = handles.get(player.getClass());
+        if (handle.isPresent()) {
+            try {
+                handle.get().invokeExact(player, url);
+                opened.incrementAndGet();
+                return true;
+            } catch (Throwable e) {
+                invokeFailures.incrementAndGet();
+                System.out.println("[BetterInfo] Could not open link for player: " + e.getMessage());
+            }
+        }
+        fallbacks.incrementAndGet();
+        return false;
+    }
+
+    String describe() {
+        return "Links: " + opened.get() + " opened, " + fallbacks.get() + " sent to chat, " + invokeFailures.get() + " open failure(s), "
+            + lookupFailures.get() + " lookup failure(s), " + unsupportedClasses.get() + " player class(es) without an open method";
+    }
+
+    private Optional<MethodHandle> resolve(Class<?> type) {
+        for (String name : OPEN_METHODS) {
+            try {
+                Method method = type.getMethod(name, String.class);
+                return Optional.of(MethodHandles.publicLookup().unreflect(method).asType(OPEN_TYPE));
+            } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+                lookupFailures.incrementAndGet();
+            }
+        }
+        unsupportedClasses.incrementAndGet();
+        System.out.println("[BetterInfo] " + type.getName() + " has no open-URL method; links will be shown in chat.");
+        return Optional.empty();
+    }
+}
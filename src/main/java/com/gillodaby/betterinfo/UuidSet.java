@@ -0,0 +1,141 @@
+package com.gillodaby.betterinfo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.UUID;
+
+final class UuidSet {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int MIN_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private volatile long[] table;
+    private volatile boolean containsZero;
+    private volatile int size;
+    private int resizeAt;
+
+    UuidSet() {
+        this(MIN_CAPACITY);
+    }
+
+    UuidSet(int expected) {
+        int capacity = capacityFor(expected);
+        this.table = new long[capacity * 2];
+        this.resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(UUID id) {
+        return contains(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    boolean contains(long msb, long lsb) {
+        if (msb == 0 && lsb == 0) {
+            return containsZero;
+        }
+        long[] slots = table;
+        int mask = (slots.length >> 1) - 1;
+        int index = mix(msb, lsb) & mask;
+        while (true) {
+            int base = index << 1;
+            long storedMsb = (long) SLOTS.getAcquire(slots, base);
+            long storedLsb = (long) SLOTS.getAcquire(slots, base + 1);
+            if (storedMsb == 0 && storedLsb == 0) {
+                return false;
+            }
+            if (storedMsb == msb && storedLsb == lsb) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    boolean add(UUID id) {
+        return add(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    synchronized boolean add(long msb, long lsb) {
+        if (msb == 0 && lsb == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        if (!insert(table, msb, lsb)) {
+            return false;
+        }
+        size++;
+        if (size >= resizeAt) {
+            grow();
+        }
+        return true;
+    }
+
+    synchronized long[] snapshot() {
+        long[] slots = table;
+        long[] packed = new long[size * 2];
+        int out = 0;
+        if (containsZero) {
+            out += 2;
+        }
+        for (int i = 0; i < slots.length; i += 2) {
+            if (slots[i] != 0 || slots[i + 1] != 0) {
+                packed[out++] = slots[i];
+                packed[out++] = slots[i + 1];
+            }
+        }
+        return packed;
+    }
+
+    private void grow() {
+        long[] old = table;
+        int capacity = old.length;
+        long[] next = new long[capacity * 2];
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != 0 || old[i + 1] != 0) {
+                insert(next, old[i], old[i + 1]);
+            }
+        }
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+        table = next;
+    }
+
+    private static boolean insert(long[] slots, long msb, long lsb) {
+        int mask = (slots.length >> 1) - 1;
+        int index = mix(msb, lsb) & mask;
+        while (true) {
+            int base = index << 1;
+            long storedMsb = slots[base];
+            long storedLsb = slots[base + 1];
+            if (storedMsb == 0 && storedLsb == 0) {
+                SLOTS.setRelease(slots, base, msb);
+                SLOTS.setRelease(slots, base + 1, lsb);
+                return true;
+            }
+            if (storedMsb == msb && storedLsb == lsb) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private static int mix(long msb, long lsb) {
+        long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int capacityFor(int expected) {
+        int needed = (int) Math.min(1 << 30, (long) (Math.max(expected, 1) / LOAD_FACTOR) + 1);
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, needed) - 1) << 1;
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+}